@@ -0,0 +1,199 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.ui.Command;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Executes scripts of commands and writes their output exactly as {@link Main} prints it. A line consisting of
+ * {@value #GAME_KEYWORD} followed by the token lists of the players separated by spaces, as given to
+ * {@link Main#main(String[])}, starts a new game, every other line is executed as a {@link Command} on the current
+ * game. Like {@link Main}, lines after the game has been quit are not executed until the next game starts. The
+ * output is only flushed after the given number of lines and once the execution is finished.
+ *
+ * <p>An executor recording a game log writes every executed line followed by its output, where every line of output
+ * is preceded by {@value #OUTPUT_PREFIX}. Game logs can be validated by a {@link LogValidator}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class BatchExecutor {
+    /**
+     * The keyword of a line starting a new game.
+     */
+    public static final String GAME_KEYWORD = "game";
+    /**
+     * The start of a line of output in a game log.
+     */
+    public static final String OUTPUT_PREFIX = "= ";
+    private final Writer output;
+    private final int flushInterval;
+    private final boolean recording;
+    private ArithmeticScrabble scrabble;
+    private long lines;
+    private long commands;
+    private long games;
+    private int unflushedLines;
+
+    /**
+     * Instantiates a new {@link BatchExecutor} with the given parameters.
+     *
+     * @param output the writer the output is written to, preferably buffered
+     * @param flushInterval the number of lines of output after which the output is flushed, 0 to flush only once
+     *         the execution is finished
+     *
+     * @throws GameException occurs if the interval is negative
+     */
+    public BatchExecutor(final Writer output, final int flushInterval) throws GameException {
+        this(output, flushInterval, false);
+    }
+
+    /**
+     * Instantiates a new {@link BatchExecutor} with the given parameters.
+     *
+     * @param output the writer the output is written to, preferably buffered
+     * @param flushInterval the number of lines of output after which the output is flushed, 0 to flush only once
+     *         the execution is finished
+     * @param recording whether or not a game log is written instead of the output only
+     *
+     * @throws GameException occurs if the interval is negative
+     */
+    public BatchExecutor(final Writer output, final int flushInterval, final boolean recording)
+            throws GameException {
+        if (flushInterval < 0) {
+            throw new GameException("invalid flush interval " + flushInterval);
+        }
+        this.output = output;
+        this.flushInterval = flushInterval;
+        this.recording = recording;
+    }
+
+    /**
+     * Executes all lines of the script with the given path. The path {@value CommandScript#STANDARD_INPUT} denotes
+     * the standard input. The game of the last script is continued by the following script unless it starts a new
+     * game.
+     *
+     * @param path the path of the script
+     *
+     * @throws IOException occurs if the script cannot be read or the output cannot be written
+     */
+    public void execute(final String path) throws IOException {
+        try (CommandScript script = CommandScript.open(path)) {
+            ScriptLine line = script.nextLine();
+            while (line != null) {
+                lines++;
+                if (line.startsWith(GAME_KEYWORD, Main.COMMAND_SEPARATOR.charAt(0))) {
+                    if (recording) {
+                        writeLine(line.decode(0));
+                    }
+                    startGame(line.length() > GAME_KEYWORD.length()
+                            ? line.decode(GAME_KEYWORD.length() + 1)
+                            : Main.EMPTY_STRING);
+                } else if (scrabble != null && scrabble.isActive()) {
+                    commands++;
+                    if (recording) {
+                        writeLine(line.decode(0));
+                    }
+                    executeCommand(line);
+                }
+                line = script.nextLine();
+            }
+        }
+    }
+
+    private void startGame(final String players) throws IOException {
+        games++;
+        scrabble = null;
+        final String[] playerRepresentations = players.split(Main.COMMAND_SEPARATOR);
+        try {
+            Main.checkPlayerCount(playerRepresentations.length);
+            scrabble = new ArithmeticScrabble(playerRepresentations);
+        } catch (final GameException exception) {
+            writeError(Main.ERROR + exception.getMessage());
+        }
+    }
+
+    /**
+     * Executes the given line and writes its output directly into the output, so the board of a print command is not
+     * copied to a String.
+     */
+    private void executeCommand(final CharSequence line) throws IOException {
+        try {
+            linesWritten(Command.executeCommand(line, scrabble, output, recording
+                    ? OUTPUT_PREFIX
+                    : Main.EMPTY_STRING));
+        } catch (final GameException exception) {
+            writeError(Main.ERROR + exception.getMessage());
+        } catch (final RuntimeException exception) {
+            // e.g. a row or column exceeding the integer range, which must not abort the remaining games
+            writeError(Main.ERROR + exception.getMessage());
+        }
+    }
+
+    private void writeError(final String message) throws IOException {
+        writeLine(recording
+                ? OUTPUT_PREFIX + message
+                : message);
+    }
+
+    private void writeLine(final String line) throws IOException {
+        output.write(line);
+        output.write(Main.LINE_SEPARATOR);
+        linesWritten(1);
+    }
+
+    private void linesWritten(final int written) throws IOException {
+        unflushedLines += written;
+        if (flushInterval > 0 && unflushedLines >= flushInterval) {
+            output.flush();
+            unflushedLines = 0;
+        }
+    }
+
+    /**
+     * Flushes the remaining output.
+     *
+     * @throws IOException occurs if the output cannot be written
+     */
+    public void finish() throws IOException {
+        output.flush();
+        unflushedLines = 0;
+    }
+
+    /**
+     * The number of lines read from all scripts.
+     *
+     * @return the number of lines read
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * The number of lines executed as commands.
+     *
+     * @return the number of commands executed
+     */
+    public long getCommands() {
+        return commands;
+    }
+
+    /**
+     * The number of games started.
+     *
+     * @return the number of games started
+     */
+    public long getGames() {
+        return games;
+    }
+
+    @Override public String toString() {
+        return "games " + games + ", commands " + commands + ", lines " + lines;
+    }
+}
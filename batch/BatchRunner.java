@@ -0,0 +1,103 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.Terminal;
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.metrics.EngineMetrics;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point of the batch execution. Expects an optional {@value #FLUSH_OPTION} followed by the number of lines of
+ * output after which the output is flushed, an optional {@value #RECORD_OPTION} to write a game log instead of the
+ * output only, an optional {@value #METRICS_OPTION} to print the {@link EngineMetrics} after all scripts and the
+ * paths of the scripts executed by a {@link BatchExecutor}, where {@value CommandScript#STANDARD_INPUT} denotes the
+ * standard input. The output of all scripts is written to the standard output through a single buffer.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class BatchRunner {
+    /**
+     * The option followed by the number of lines of output after which the output is flushed.
+     */
+    public static final String FLUSH_OPTION = "-flush";
+    /**
+     * The option to write a game log as described in {@link BatchExecutor}.
+     */
+    public static final String RECORD_OPTION = "-record";
+    /**
+     * The option to print the metrics of the engine after all scripts have been executed.
+     */
+    public static final String METRICS_OPTION = "-metrics";
+    /**
+     * The number of characters of the output buffer.
+     */
+    public static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private BatchRunner() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Executes the scripts given by the arguments.
+     *
+     * @param args the optional flush interval, the optional recording and metrics options and the paths of the
+     *        scripts
+     */
+    public static void main(final String[] args) {
+        int firstScript = 0;
+        int flushInterval = 0;
+        try {
+            if (args.length > 1 && args[0].equals(FLUSH_OPTION)) {
+                flushInterval = Integer.parseInt(args[1]);
+                firstScript = 2;
+            }
+        } catch (final NumberFormatException exception) {
+            Terminal.printError("invalid flush interval " + args[1]);
+            return;
+        }
+        final boolean recording = firstScript < args.length && args[firstScript].equals(RECORD_OPTION);
+        if (recording) {
+            firstScript++;
+        }
+        final boolean printingMetrics = firstScript < args.length && args[firstScript].equals(METRICS_OPTION);
+        if (printingMetrics) {
+            firstScript++;
+        }
+        if (firstScript == args.length) {
+            Terminal.printError("expected [" + FLUSH_OPTION + " <lines>] [" + RECORD_OPTION + "] [" + METRICS_OPTION
+                                + "] <script>...");
+            return;
+        }
+        final Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                                                                        StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        try {
+            final BatchExecutor executor = new BatchExecutor(output, flushInterval, recording);
+            try {
+                for (int index = firstScript; index < args.length; index++) {
+                    executor.execute(args[index]);
+                }
+            } finally {
+                executor.finish();
+            }
+            if (printingMetrics) {
+                Terminal.printLine(EngineMetrics.getShared().dump());
+            }
+        } catch (final GameException | IOException exception) {
+            Terminal.printError(exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the lines of a file of commands without decoding them. Regular files are mapped into memory window by
+ * window, any other input like a pipe is read in large blocks into one reused buffer. Lines are terminated like
+ * lines read by {@link java.io.BufferedReader#readLine()}, by a line feed, a carriage return or both.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class CommandScript implements Closeable {
+    /**
+     * The path of a script denoting the standard input.
+     */
+    static final String STANDARD_INPUT = "-";
+    /**
+     * The number of bytes of a file mapped at once.
+     */
+    static final int WINDOW_SIZE = 1 << 26;
+    /**
+     * The initial number of bytes of the buffer of an input which cannot be mapped.
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private final ReadableByteChannel channel;
+    private final long size;
+    private final ScriptLine line = new ScriptLine();
+    private ByteBuffer buffer;
+    private long windowPosition;
+    private boolean exhausted;
+
+    private CommandScript(final ReadableByteChannel channel, final long size) {
+        this.channel = channel;
+        this.size = size;
+        buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Opens the script with the given path. The path {@value #STANDARD_INPUT} denotes the standard input.
+     *
+     * @param path the path of the script
+     *
+     * @return the opened script
+     *
+     * @throws IOException occurs if the script cannot be opened
+     */
+    static CommandScript open(final String path) throws IOException {
+        if (path.equals(STANDARD_INPUT)) {
+            return new CommandScript(new FileInputStream(FileDescriptor.in).getChannel(), -1);
+        }
+        final Path file = Path.of(path);
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new CommandScript(channel, Files.isRegularFile(file)
+                ? channel.size()
+                : -1);
+    }
+
+    /**
+     * Advances to the next line of this script. The returned line is only valid until the next call.
+     *
+     * @return the next line, null if the end of the script has been reached
+     *
+     * @throws IOException occurs if the script cannot be read
+     */
+    ScriptLine nextLine() throws IOException {
+        int scanned = 0;
+        while (true) {
+            final int start = buffer.position();
+            for (int index = start + scanned; index < buffer.limit(); index++) {
+                final byte character = buffer.get(index);
+                if (character == LINE_FEED || character == CARRIAGE_RETURN) {
+                    if (character == CARRIAGE_RETURN && index + 1 == buffer.limit() && !isAtEnd()) {
+                        // the line feed possibly belonging to the carriage return has not been read yet
+                        break;
+                    }
+                    line.set(buffer, start, index - start);
+                    final boolean pair = character == CARRIAGE_RETURN && index + 1 < buffer.limit()
+                                         && buffer.get(index + 1) == LINE_FEED;
+                    buffer.position(pair
+                            ? index + 2
+                            : index + 1);
+                    return line;
+                }
+            }
+            if (isAtEnd()) {
+                if (start == buffer.limit()) {
+                    return null;
+                }
+                line.set(buffer, start, buffer.limit() - start);
+                buffer.position(buffer.limit());
+                return line;
+            }
+            scanned = Math.max(0, buffer.limit() - start - 1);
+            refill();
+        }
+    }
+
+    private boolean isAtEnd() {
+        return size >= 0
+                ? windowPosition + buffer.limit() >= size
+                : exhausted;
+    }
+
+    /**
+     * Moves the unread rest of the buffer to its start and appends the following bytes of the input.
+     */
+    private void refill() throws IOException {
+        final int remaining = buffer.remaining();
+        if (size >= 0) {
+            windowPosition += buffer.position();
+            final long length = Math.min(size - windowPosition, WINDOW_SIZE);
+            if (length <= remaining) {
+                throw new IOException("line longer than " + WINDOW_SIZE + " bytes at offset " + windowPosition);
+            }
+            buffer = ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, windowPosition, length);
+            return;
+        }
+        if (buffer.capacity() == 0) {
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.limit(0);
+        }
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            final ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        exhausted = read < 0;
+        buffer.flip();
+    }
+
+    @Override public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,106 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.scrabble.ui.Main;
+
+/**
+ * Describes the first command of a game log whose current output differs from the recorded one.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class Divergence implements Comparable<Divergence> {
+    private final DivergenceType type;
+    private final String log;
+    private final long line;
+    private final String command;
+    private final String expected;
+    private final String actual;
+
+    /**
+     * Instantiates a new {@link Divergence} with the given parameters.
+     *
+     * @param type the kind of the difference
+     * @param log the path of the game log
+     * @param line the number of the line of the command in the game log, starting at one
+     * @param command the command
+     * @param expected the recorded output, null if there was none
+     * @param actual the current output, null if there is none
+     */
+    Divergence(final DivergenceType type, final String log, final long line, final String command,
+            final String expected, final String actual) {
+        this.type = type;
+        this.log = log;
+        this.line = line;
+        this.command = command;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * The kind of the difference.
+     *
+     * @return the type of this divergence
+     */
+    public DivergenceType getType() {
+        return type;
+    }
+
+    /**
+     * The path of the game log.
+     *
+     * @return the game log containing the command
+     */
+    public String getLog() {
+        return log;
+    }
+
+    /**
+     * The number of the line of the command in the game log, starting at one.
+     *
+     * @return the line of the command
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * The command whose output differs.
+     *
+     * @return the command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * The recorded output of the command.
+     *
+     * @return the recorded output, null if there was none
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * The current output of the command.
+     *
+     * @return the current output, null if there is none
+     */
+    public String getActual() {
+        return actual;
+    }
+
+    @Override public int compareTo(final Divergence o) {
+        final int logComparison = log.compareTo(o.log);
+        return logComparison != 0
+                ? logComparison
+                : Long.compare(line, o.line);
+    }
+
+    @Override public String toString() {
+        return log + ":" + line + " " + type + " " + command + Main.LINE_SEPARATOR + "  expected " + expected
+               + Main.LINE_SEPARATOR + "  actual   " + actual;
+    }
+}
@@ -0,0 +1,32 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+/**
+ * The kinds of differences between the recorded and the current output of a command of a game log.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public enum DivergenceType {
+    /**
+     * A recorded successful command is rejected now, e.g. a placement which has become illegal.
+     */
+    REJECTED,
+    /**
+     * A recorded rejected command succeeds now.
+     */
+    ACCEPTED,
+    /**
+     * A score or the result of the game differs.
+     */
+    SCORE,
+    /**
+     * Any other output differs.
+     */
+    OUTPUT,
+    /**
+     * The command failed with an unexpected exception.
+     */
+    FAILURE
+}
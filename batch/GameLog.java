@@ -0,0 +1,164 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.ui.Command;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A single recorded game of a game log as written by a recording {@link BatchExecutor}, which consists of the line
+ * starting the game and the executed commands, each followed by its recorded output. The game can be replayed to
+ * find the first command whose output differs from the recorded one.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class GameLog {
+    /**
+     * The commands whose output contains scores.
+     */
+    private static final String[] SCORE_COMMANDS = {"score", "end"};
+    private final String log;
+    /**
+     * The line starting the game followed by the commands.
+     */
+    private final List<String> lines = new ArrayList<>();
+    private final List<Long> lineNumbers = new ArrayList<>();
+    /**
+     * The recorded output of every line, null entries belong to lines without output.
+     */
+    private final List<StringBuilder> outputs = new ArrayList<>();
+
+    /**
+     * Instantiates a new {@link GameLog} starting with the given line.
+     *
+     * @param log the path of the game log
+     * @param lineNumber the number of the line starting the game
+     * @param line the line starting the game
+     */
+    GameLog(final String log, final long lineNumber, final String line) {
+        this.log = log;
+        addCommand(lineNumber, line);
+    }
+
+    /**
+     * Adds a command to this game.
+     *
+     * @param lineNumber the number of the line of the command
+     * @param line the command
+     */
+    void addCommand(final long lineNumber, final String line) {
+        lines.add(line);
+        lineNumbers.add(lineNumber);
+        outputs.add(null);
+    }
+
+    /**
+     * Adds a line of recorded output to the last command.
+     *
+     * @param output the line of output without {@link BatchExecutor#OUTPUT_PREFIX}
+     */
+    void addOutput(final String output) {
+        final int last = outputs.size() - 1;
+        if (outputs.get(last) == null) {
+            outputs.set(last, new StringBuilder(output));
+        } else {
+            outputs.get(last).append(Main.LINE_SEPARATOR).append(output);
+        }
+    }
+
+    /**
+     * The number of commands of this game.
+     *
+     * @return the number of commands
+     */
+    int getCommands() {
+        return lines.size() - 1;
+    }
+
+    /**
+     * Replays this game and returns the first difference to the recorded output. Like {@link Main}, commands after
+     * the game has been quit are not executed.
+     *
+     * @return the first divergence, null if all outputs equal the recorded ones
+     */
+    Divergence validate() {
+        final String players = lines.get(0).length() > BatchExecutor.GAME_KEYWORD.length()
+                ? lines.get(0).substring(BatchExecutor.GAME_KEYWORD.length() + 1)
+                : Main.EMPTY_STRING;
+        ArithmeticScrabble scrabble = null;
+        String actual = null;
+        try {
+            final String[] playerRepresentations = players.split(Main.COMMAND_SEPARATOR);
+            Main.checkPlayerCount(playerRepresentations.length);
+            scrabble = new ArithmeticScrabble(playerRepresentations);
+        } catch (final GameException exception) {
+            actual = Main.ERROR + exception.getMessage();
+        } catch (final RuntimeException exception) {
+            return createDivergence(DivergenceType.FAILURE, 0, exception.toString());
+        }
+        for (int index = 0; index < lines.size(); index++) {
+            if (index > 0) {
+                actual = null;
+                if (scrabble != null && scrabble.isActive()) {
+                    try {
+                        actual = execute(lines.get(index), scrabble);
+                    } catch (final RuntimeException exception) {
+                        return createDivergence(DivergenceType.FAILURE, index, exception.toString());
+                    }
+                }
+            }
+            final String expected = outputs.get(index) == null
+                    ? null
+                    : outputs.get(index).toString();
+            if (!Objects.equals(expected, actual)) {
+                return createDivergence(classify(lines.get(index), expected, actual), index, actual);
+            }
+        }
+        return null;
+    }
+
+    private static String execute(final String command, final ArithmeticScrabble scrabble) {
+        try {
+            return Command.executeCommand(command, scrabble);
+        } catch (final GameException exception) {
+            return Main.ERROR + exception.getMessage();
+        }
+    }
+
+    private Divergence createDivergence(final DivergenceType type, final int index, final String actual) {
+        final String expected = outputs.get(index) == null
+                ? null
+                : outputs.get(index).toString();
+        return new Divergence(type, log, lineNumbers.get(index), lines.get(index), expected, actual);
+    }
+
+    private static DivergenceType classify(final String command, final String expected, final String actual) {
+        if (isSuccess(expected) && isError(actual)) {
+            return DivergenceType.REJECTED;
+        }
+        if (isError(expected) && isSuccess(actual)) {
+            return DivergenceType.ACCEPTED;
+        }
+        for (final String scoreCommand : SCORE_COMMANDS) {
+            if (command.startsWith(scoreCommand)) {
+                return DivergenceType.SCORE;
+            }
+        }
+        return DivergenceType.OUTPUT;
+    }
+
+    private static boolean isSuccess(final String output) {
+        return output == null || output.equals(Main.OK);
+    }
+
+    private static boolean isError(final String output) {
+        return output != null && output.startsWith(Main.ERROR);
+    }
+}
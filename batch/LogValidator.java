@@ -0,0 +1,140 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.Terminal;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates game logs written by a recording {@link BatchExecutor} against the current rules. The logs are read
+ * sequentially and every game is replayed on one of several threads, while only a bounded number of games is held in
+ * memory. Every game is reported with its first divergence, as the following commands are executed on a different
+ * state than recorded.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class LogValidator {
+    /**
+     * The default maximum number of divergences kept in the report.
+     */
+    public static final int DEFAULT_MAXIMUM_DIVERGENCES = 100;
+    /**
+     * The number of games per thread which may be read ahead of the validation.
+     */
+    private static final int GAMES_PER_THREAD = 16;
+    private final int parallelism;
+    private final int maximumDivergences;
+
+    /**
+     * Instantiates a new {@link LogValidator} with the given parameters.
+     *
+     * @param parallelism the number of threads replaying games
+     * @param maximumDivergences the maximum number of divergences kept in the report
+     */
+    public LogValidator(final int parallelism, final int maximumDivergences) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("invalid parallelism " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.maximumDivergences = maximumDivergences;
+    }
+
+    /**
+     * Validates all games of the game logs with the given paths. The path {@value CommandScript#STANDARD_INPUT}
+     * denotes the standard input. Lines before the first game are ignored.
+     *
+     * @param paths the paths of the game logs
+     *
+     * @return the report of the validation
+     *
+     * @throws IOException occurs if a game log cannot be read
+     * @throws InterruptedException occurs if the current thread is interrupted while waiting for the validation
+     */
+    public ValidationReport validate(final String... paths) throws IOException, InterruptedException {
+        final ValidationReport report = new ValidationReport(maximumDivergences);
+        final Semaphore readAhead = new Semaphore(parallelism * GAMES_PER_THREAD);
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, task -> {
+            final Thread thread = new Thread(task, "log-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long start = System.nanoTime();
+        try {
+            for (final String path : paths) {
+                read(path, report, readAhead, executor);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private static void read(final String path, final ValidationReport report, final Semaphore readAhead,
+            final ExecutorService executor) throws IOException, InterruptedException {
+        try (CommandScript script = CommandScript.open(path)) {
+            GameLog game = null;
+            long lineNumber = 0;
+            for (ScriptLine line = script.nextLine(); line != null; line = script.nextLine()) {
+                lineNumber++;
+                if (line.startsWith(BatchExecutor.GAME_KEYWORD, Main.COMMAND_SEPARATOR.charAt(0))) {
+                    submit(game, report, readAhead, executor);
+                    game = new GameLog(path, lineNumber, line.decode(0));
+                } else if (game == null) {
+                    continue;
+                } else if (line.startsWith(BatchExecutor.OUTPUT_PREFIX.trim(), ' ')) {
+                    game.addOutput(line.length() > BatchExecutor.OUTPUT_PREFIX.length()
+                            ? line.decode(BatchExecutor.OUTPUT_PREFIX.length())
+                            : Main.EMPTY_STRING);
+                } else {
+                    game.addCommand(lineNumber, line.decode(0));
+                }
+            }
+            submit(game, report, readAhead, executor);
+        }
+    }
+
+    private static void submit(final GameLog game, final ValidationReport report, final Semaphore readAhead,
+            final ExecutorService executor) throws InterruptedException {
+        if (game == null) {
+            return;
+        }
+        readAhead.acquire();
+        executor.execute(() -> {
+            try {
+                report.add(game.getCommands(), game.validate());
+            } finally {
+                readAhead.release();
+            }
+        });
+    }
+
+    /**
+     * Validates the game logs with the given paths on all available processors and prints the report.
+     *
+     * @param args the paths of the game logs
+     */
+    public static void main(final String[] args) {
+        if (args.length == 0) {
+            Terminal.printError("expected <game log>...");
+            return;
+        }
+        try {
+            final LogValidator validator = new LogValidator(Runtime.getRuntime().availableProcessors(),
+                                                            DEFAULT_MAXIMUM_DIVERGENCES);
+            Terminal.printLine(validator.validate(args));
+        } catch (final IOException exception) {
+            Terminal.printError(exception.getMessage());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * View of a line of a {@link CommandScript} as characters without decoding or copying its bytes. Every byte is
+ * mapped to the character with the same value, which is exact for the ASCII characters of the commands and maps
+ * every byte of a multibyte character to a character no command accepts. The view is only valid until the script
+ * advances to its next line.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ScriptLine implements CharSequence {
+    private static final int BYTE_MASK = 0xFF;
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * Points this view to the given bytes.
+     *
+     * @param buffer the buffer containing the line
+     * @param offset the index of the first byte of the line in the buffer
+     * @param length the number of bytes of the line
+     */
+    void set(final ByteBuffer buffer, final int offset, final int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns whether or not this line starts with the given keyword followed by the end of the line or the given
+     * separator.
+     *
+     * @param keyword the ASCII keyword
+     * @param separator the separator after the keyword
+     *
+     * @return whether or not the line starts with the keyword
+     */
+    boolean startsWith(final String keyword, final char separator) {
+        if (length < keyword.length()) {
+            return false;
+        }
+        for (int index = 0; index < keyword.length(); index++) {
+            if (charAt(index) != keyword.charAt(index)) {
+                return false;
+            }
+        }
+        return length == keyword.length() || charAt(keyword.length()) == separator;
+    }
+
+    /**
+     * Decodes the characters of this line starting at the given index from UTF-8.
+     *
+     * @param start the index of the first decoded byte
+     *
+     * @return the decoded characters
+     */
+    String decode(final int start) {
+        final byte[] bytes = new byte[length - start];
+        for (int index = 0; index < bytes.length; index++) {
+            bytes[index] = buffer.get(offset + start + index);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override public int length() {
+        return length;
+    }
+
+    @Override public char charAt(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " of line of length " + length);
+        }
+        return (char) (buffer.get(offset + index) & BYTE_MASK);
+    }
+
+    @Override public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("range " + start + " to " + end + " of line of length " + length);
+        }
+        final ScriptLine line = new ScriptLine();
+        line.set(buffer, offset + start, end - start);
+        return line;
+    }
+
+    @Override public String toString() {
+        final char[] characters = new char[length];
+        for (int index = 0; index < length; index++) {
+            characters[index] = charAt(index);
+        }
+        return new String(characters);
+    }
+}
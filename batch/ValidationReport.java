@@ -0,0 +1,142 @@
+
+
+package edu.kit.informatik.scrabble.batch;
+
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the results of a validation by a {@link LogValidator}. The counters may be updated concurrently, only the
+ * first divergences up to a maximum number are kept.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class ValidationReport {
+    private final int maximumDivergences;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder divergentGames = new LongAdder();
+    private final Map<DivergenceType, LongAdder> divergencesByType = new EnumMap<>(DivergenceType.class);
+    private final List<Divergence> divergences = new ArrayList<>();
+    private long elapsedNanos;
+
+    /**
+     * Instantiates a new {@link ValidationReport} keeping the given number of divergences.
+     *
+     * @param maximumDivergences the maximum number of divergences kept
+     */
+    ValidationReport(final int maximumDivergences) {
+        this.maximumDivergences = maximumDivergences;
+        for (final DivergenceType type : DivergenceType.values()) {
+            divergencesByType.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds the result of a validated game.
+     *
+     * @param commandCount the number of commands of the game
+     * @param divergence the first divergence of the game, null if there is none
+     */
+    void add(final int commandCount, final Divergence divergence) {
+        games.increment();
+        commands.add(commandCount);
+        if (divergence != null) {
+            divergentGames.increment();
+            divergencesByType.get(divergence.getType()).increment();
+            synchronized (divergences) {
+                if (divergences.size() < maximumDivergences) {
+                    divergences.add(divergence);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the duration of the validation.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * The number of validated games.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * The number of replayed commands.
+     *
+     * @return the number of commands
+     */
+    public long getCommands() {
+        return commands.sum();
+    }
+
+    /**
+     * The number of games with a divergence.
+     *
+     * @return the number of divergent games
+     */
+    public long getDivergentGames() {
+        return divergentGames.sum();
+    }
+
+    /**
+     * The number of divergent games whose first divergence has the given type.
+     *
+     * @param type the type of the divergence
+     *
+     * @return the number of divergent games
+     */
+    public long getDivergentGames(final DivergenceType type) {
+        return divergencesByType.get(type).sum();
+    }
+
+    /**
+     * Returns the kept divergences ordered by their game log and line.
+     *
+     * @return an unmodifiable list of the divergences
+     */
+    public List<Divergence> getDivergences() {
+        final List<Divergence> sorted;
+        synchronized (divergences) {
+            sorted = new ArrayList<>(divergences);
+        }
+        Collections.sort(sorted);
+        return Collections.unmodifiableList(sorted);
+    }
+
+    @Override public String toString() {
+        final StringBuilder output = new StringBuilder();
+        for (final Divergence divergence : getDivergences()) {
+            output.append(divergence).append(Main.LINE_SEPARATOR);
+        }
+        output.append("games ").append(getGames()).append(", commands ").append(getCommands())
+              .append(", divergent games ").append(getDivergentGames());
+        for (final DivergenceType type : DivergenceType.values()) {
+            if (getDivergentGames(type) > 0) {
+                output.append(", ").append(type.name().toLowerCase(Locale.ROOT)).append(' ')
+                      .append(getDivergentGames(type));
+            }
+        }
+        final long elapsed = Math.max(1, elapsedNanos);
+        output.append(", commands/s ").append(getCommands() * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        return output.toString();
+    }
+}
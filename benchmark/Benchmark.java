@@ -0,0 +1,19 @@
+
+
+package edu.kit.informatik.scrabble.benchmark;
+
+/**
+ * A single operation measured by the {@link BenchmarkRunner}. The operation is executed repeatedly on the same
+ * fixture, so it has to leave the fixture in the state it found it in.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface Benchmark {
+    /**
+     * Executes the measured operation once.
+     *
+     * @return the result of the operation, which is consumed so the operation cannot be eliminated as dead code
+     */
+    Object run();
+}
@@ -0,0 +1,73 @@
+
+
+package edu.kit.informatik.scrabble.benchmark;
+
+/**
+ * Encapsulates the measurement of a single {@link Benchmark}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class BenchmarkResult {
+    private final String name;
+    private final double nanosPerOperation;
+    private final double nanosError;
+    private final double bytesPerOperation;
+
+    /**
+     * Instantiates a new {@link BenchmarkResult} with the given parameters.
+     *
+     * @param name the name of the benchmark
+     * @param nanosPerOperation the mean time of one operation in nanoseconds
+     * @param nanosError the standard deviation of the time of one operation between the measured iterations
+     * @param bytesPerOperation the mean number of bytes allocated by one operation, negative if not supported
+     */
+    public BenchmarkResult(final String name, final double nanosPerOperation, final double nanosError,
+            final double bytesPerOperation) {
+        this.name = name;
+        this.nanosPerOperation = nanosPerOperation;
+        this.nanosError = nanosError;
+        this.bytesPerOperation = bytesPerOperation;
+    }
+
+    /**
+     * The name of the benchmark.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The mean time of one operation.
+     *
+     * @return the time in nanoseconds
+     */
+    public double getNanosPerOperation() {
+        return nanosPerOperation;
+    }
+
+    /**
+     * The standard deviation of the time of one operation between the measured iterations.
+     *
+     * @return the deviation in nanoseconds
+     */
+    public double getNanosError() {
+        return nanosError;
+    }
+
+    /**
+     * The mean number of bytes allocated by one operation.
+     *
+     * @return the number of bytes, negative if the virtual machine does not measure allocations
+     */
+    public double getBytesPerOperation() {
+        return bytesPerOperation;
+    }
+
+    @Override public String toString() {
+        return String.format("%-32s %14.1f +- %10.1f ns/op %12.1f B/op", name, nanosPerOperation, nanosError,
+                             bytesPerOperation);
+    }
+}
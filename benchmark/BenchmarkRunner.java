@@ -0,0 +1,211 @@
+
+
+package edu.kit.informatik.scrabble.benchmark;
+
+import edu.kit.informatik.Terminal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of the benchmarks created by {@link Benchmarks}. Every benchmark is warmed up and then measured in
+ * several iterations of fixed duration, each reporting the mean time per operation. The bytes allocated by the
+ * measuring thread are read from the {@code com.sun.management.ThreadMXBean} if the virtual machine provides it.
+ * <p>
+ * The arguments are optional: {@code -save <file>} stores the results as the new baseline, {@code -compare <file>}
+ * prints the change of every result relative to a stored baseline and any other argument restricts the benchmarks
+ * to the ones whose name starts with it. The baseline of the project is stored in {@value #DEFAULT_BASELINE}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+    /**
+     * The path of the baseline of the project relative to the root of the project.
+     */
+    public static final String DEFAULT_BASELINE = "benchmark/baseline.properties";
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int BATCH_SIZE = 64;
+    private static final String NANOS_SUFFIX = ".nanos";
+    private static final String BYTES_SUFFIX = ".bytes";
+    private static final double PERCENT = 100;
+    /**
+     * Keeps the results of the operations reachable, so they cannot be eliminated.
+     */
+    private static Object sink;
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private BenchmarkRunner() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Runs the benchmarks as described by the given arguments.
+     *
+     * @param args the optional arguments described in the class comment
+     */
+    public static void main(final String[] args) {
+        String saveFile = null;
+        String compareFile = null;
+        String prefix = "";
+        for (int index = 0; index < args.length; index++) {
+            if (args[index].equals("-save") && index + 1 < args.length) {
+                saveFile = args[++index];
+            } else if (args[index].equals("-compare") && index + 1 < args.length) {
+                compareFile = args[++index];
+            } else {
+                prefix = args[index];
+            }
+        }
+        try {
+            final Properties baseline = compareFile == null
+                    ? null
+                    : load(compareFile);
+            final List<BenchmarkResult> results = new ArrayList<>();
+            for (final Map.Entry<String, Benchmark> benchmark : Benchmarks.create().entrySet()) {
+                if (benchmark.getKey().startsWith(prefix)) {
+                    final BenchmarkResult result = measure(benchmark.getKey(), benchmark.getValue());
+                    results.add(result);
+                    Terminal.printLine(baseline == null
+                                               ? result.toString()
+                                               : result + compare(result, baseline));
+                }
+            }
+            if (saveFile != null) {
+                save(saveFile, results);
+            }
+        } catch (final IOException exception) {
+            Terminal.printError(exception.getMessage());
+        }
+    }
+
+    /**
+     * Measures the given benchmark.
+     *
+     * @param name the name of the benchmark
+     * @param benchmark the benchmark
+     *
+     * @return the measured result
+     */
+    public static BenchmarkResult measure(final String name, final Benchmark benchmark) {
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            runIteration(benchmark);
+        }
+        final double[] nanos = new double[MEASUREMENT_ITERATIONS];
+        long operations = 0;
+        final long allocatedBefore = getAllocatedBytes();
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            final long start = System.nanoTime();
+            final long iterationOperations = runIteration(benchmark);
+            nanos[iteration] = (System.nanoTime() - start) / (double) iterationOperations;
+            operations += iterationOperations;
+        }
+        final long allocatedAfter = getAllocatedBytes();
+        double mean = 0;
+        for (final double value : nanos) {
+            mean += value / MEASUREMENT_ITERATIONS;
+        }
+        double variance = 0;
+        for (final double value : nanos) {
+            variance += (value - mean) * (value - mean) / MEASUREMENT_ITERATIONS;
+        }
+        final double bytes = allocatedBefore < 0
+                ? -1
+                : (allocatedAfter - allocatedBefore) / (double) operations;
+        return new BenchmarkResult(name, mean, Math.sqrt(variance), bytes);
+    }
+
+    /**
+     * Runs the benchmark in batches until the duration of an iteration has passed.
+     *
+     * @return the number of operations
+     */
+    private static long runIteration(final Benchmark benchmark) {
+        final long end = System.nanoTime() + ITERATION_NANOS;
+        long operations = 0;
+        do {
+            for (int operation = 0; operation < BATCH_SIZE; operation++) {
+                sink = benchmark.run();
+            }
+            operations += BATCH_SIZE;
+        } while (System.nanoTime() - end < 0);
+        return operations;
+    }
+
+    private static long getAllocatedBytes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static String compare(final BenchmarkResult result, final Properties baseline) {
+        final String nanos = baseline.getProperty(result.getName() + NANOS_SUFFIX);
+        final String bytes = baseline.getProperty(result.getName() + BYTES_SUFFIX);
+        if (nanos == null || bytes == null) {
+            return "   (no baseline)";
+        }
+        return String.format("   time %+7.1f%%, allocation %+7.1f%%",
+                             getChange(Double.parseDouble(nanos), result.getNanosPerOperation()),
+                             getChange(Double.parseDouble(bytes), result.getBytesPerOperation()));
+    }
+
+    private static double getChange(final double before, final double after) {
+        return before == 0
+                ? 0
+                : (after - before) / before * PERCENT;
+    }
+
+    private static String format(final double value) {
+        // the baseline is parsed with Double#parseDouble, which does not depend on the locale
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static Properties load(final String file) throws IOException {
+        final Properties baseline = new Properties();
+        try (InputStream input = Files.newInputStream(Paths.get(file))) {
+            baseline.load(input);
+        }
+        return baseline;
+    }
+
+    /**
+     * Stores the results in the order they were measured, so baselines of different runs can be compared line by
+     * line. The file is readable by {@link Properties#load(InputStream)}.
+     */
+    private static void save(final String file, final List<BenchmarkResult> results) throws IOException {
+        try (BufferedWriter output = Files.newBufferedWriter(Paths.get(file), StandardCharsets.ISO_8859_1)) {
+            output.write("# benchmark baseline, java " + System.getProperty("java.version") + ", "
+                         + Runtime.getRuntime().availableProcessors() + " processors");
+            output.newLine();
+            for (final BenchmarkResult result : results) {
+                output.write(result.getName() + NANOS_SUFFIX + "=" + format(result.getNanosPerOperation()));
+                output.newLine();
+                output.write(result.getName() + BYTES_SUFFIX + "=" + format(result.getBytesPerOperation()));
+                output.newLine();
+            }
+        }
+    }
+}
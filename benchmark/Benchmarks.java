@@ -0,0 +1,223 @@
+
+
+package edu.kit.informatik.scrabble.benchmark;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.entity.ExpressionEvaluator;
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabbleBoard;
+import edu.kit.informatik.scrabble.game.GameBoard;
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+import edu.kit.informatik.scrabble.simulation.GreedyStrategy;
+import edu.kit.informatik.scrabble.simulation.MoveStrategy;
+import edu.kit.informatik.scrabble.simulation.RandomStrategy;
+import edu.kit.informatik.scrabble.ui.Command;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates the benchmarks of the hot paths of the game. The boards are measured empty, in the middle of a game and
+ * at the end of a game, which are reached by greedy moves from fixed bags and seeds, so every run measures the same
+ * positions.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class Benchmarks {
+    /**
+     * The bag of every player of the benchmarked game.
+     */
+    static final String BAG = "1234567890+-*9876543210*-+1357924680+*-";
+    private static final String[] BOARD_STATES = {"empty", "mid", "full"};
+    private static final int MID_GAME_MOVES = 8;
+    private static final long SEED = 42;
+    private static final String SHORT_EXPRESSION = "12+";
+    private static final String LONG_EXPRESSION = "12+34*-56-7*8+9*";
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private Benchmarks() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Creates all benchmarks.
+     *
+     * @return the benchmarks by their names in the order they are run
+     */
+    public static Map<String, Benchmark> create() {
+        final Map<String, Benchmark> benchmarks = new LinkedHashMap<>();
+        final ArithmeticScrabble game = new ArithmeticScrabble(new String[] {BAG, BAG});
+        final Player[] players = game.getPlayers();
+        for (int state = 0; state < BOARD_STATES.length; state++) {
+            final Position position = createPosition(players, state == 0 ? 0 : state == 1 ? MID_GAME_MOVES : -1);
+            final GameBoard board = position.getBoard();
+            benchmarks.put("board.evaluate." + BOARD_STATES[state], evaluate(board));
+            benchmarks.put("board.cloneBoard." + BOARD_STATES[state], board::cloneBoard);
+            if (state == 1) {
+                benchmarks.put("simulation.greedy.mid", choose(position, new GreedyStrategy()));
+                benchmarks.put("simulation.random.mid", choose(position, new RandomStrategy()));
+            }
+        }
+        benchmarks.put("expression.evaluate.short", expression(players[0], SHORT_EXPRESSION));
+        benchmarks.put("expression.evaluate.long", expression(players[0], LONG_EXPRESSION));
+        playGreedily(game, MID_GAME_MOVES);
+        benchmarks.put("player.removeToken", removeToken(players[1]));
+        benchmarks.put("command.score", () -> Command.executeCommand("score P1", game));
+        benchmarks.put("command.bag", () -> Command.executeCommand("bag P1", game));
+        benchmarks.put("command.print", () -> Command.executeCommand("print", game));
+        benchmarks.put("command.place.rejected", () -> {
+            try {
+                // the field of the first move is occupied, so the tokens are returned to the player
+                return Command.executeCommand("place 12+;" + findOccupiedField(game), game);
+            } catch (final GameException exception) {
+                return exception.getMessage();
+            }
+        });
+        return benchmarks;
+    }
+
+    /**
+     * Creates a position and plays greedy moves from the bags of the game on it.
+     *
+     * @param players the players of the game
+     * @param moves the number of moves, negative to play until a player has no legal move left
+     *
+     * @return the position after the moves
+     */
+    private static Position createPosition(final Player[] players, final int moves) {
+        final int[][] tokenCounts = new int[players.length][];
+        for (int seat = 0; seat < players.length; seat++) {
+            tokenCounts[seat] = MoveGenerator.countTokens(createTokens(BAG, players[seat]));
+        }
+        final Position position = new Position(new ArithmeticScrabbleBoard(), players, tokenCounts, 0);
+        final MoveGenerator generator = new MoveGenerator(position.getBoard());
+        final MoveStrategy strategy = new GreedyStrategy();
+        final Random random = new Random(SEED);
+        for (int move = 0; move != moves; move++) {
+            final ScoredMove chosen = strategy.choose(position, generator, random);
+            if (chosen == null) {
+                break;
+            }
+            position.apply(chosen);
+        }
+        return position;
+    }
+
+    /**
+     * Measures choosing a move by the given strategy, which generates all legal moves of the player to move in a
+     * {@link edu.kit.informatik.scrabble.simulation.Simulation}. The position stays the same.
+     */
+    private static Benchmark choose(final Position position, final MoveStrategy strategy) {
+        final MoveGenerator generator = new MoveGenerator(position.getBoard());
+        final Random random = new Random(SEED);
+        return () -> strategy.choose(position, generator, random);
+    }
+
+    private static void playGreedily(final ArithmeticScrabble game, final int moves) {
+        final MoveStrategy strategy = new GreedyStrategy();
+        final Random random = new Random(SEED);
+        for (int move = 0; move < moves; move++) {
+            final Position position = Position.of(game);
+            final ScoredMove chosen = strategy.choose(position, new MoveGenerator(position.getBoard()), random);
+            if (chosen == null) {
+                return;
+            }
+            game.place(chosen.getRow(), chosen.getColumn(), chosen.getOrientation(), chosen.getTokens());
+        }
+    }
+
+    private static String findOccupiedField(final ArithmeticScrabble game) {
+        final GameBoard board = game.copyBoard();
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int column = 0; column < board.getSize(); column++) {
+                if (board.get(row, column) != null) {
+                    return row + ";" + column + ";H";
+                }
+            }
+        }
+        return "0;0;H";
+    }
+
+    /**
+     * Measures the evaluation after a change of a single field, which has to evaluate its row and column again. The
+     * token is removed and placed again, so the board stays the same.
+     */
+    private static Benchmark evaluate(final GameBoard board) {
+        int occupiedRow = -1;
+        int occupiedColumn = -1;
+        for (int row = 0; row < board.getSize() && occupiedRow < 0; row++) {
+            for (int column = 0; column < board.getSize(); column++) {
+                if (board.get(row, column) != null) {
+                    occupiedRow = row;
+                    occupiedColumn = column;
+                    break;
+                }
+            }
+        }
+        final int row = occupiedRow;
+        final int column = occupiedColumn;
+        return () -> {
+            if (row >= 0) {
+                board.add(row, column, board.remove(row, column));
+            }
+            final Object result = board.evaluate();
+            board.commit();
+            return result;
+        };
+    }
+
+    private static List<Token> createTokens(final String tokens, final Player player) {
+        final List<Token> created = new ArrayList<>();
+        for (final char token : tokens.toCharArray()) {
+            created.add(player.getToken(TokenType.parseFromCharacter(token)));
+        }
+        return created;
+    }
+
+    /**
+     * Measures evaluating the given tokens of the given player as one expression like a line of the board does.
+     */
+    private static Benchmark expression(final Player player, final String tokens) {
+        final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+        final TokenType[] tokenTypes = new TokenType[tokens.length()];
+        for (int index = 0; index < tokenTypes.length; index++) {
+            tokenTypes[index] = TokenType.parseFromCharacter(tokens.charAt(index));
+        }
+        return () -> {
+            evaluator.reset();
+            for (final TokenType tokenType : tokenTypes) {
+                evaluator.push(tokenType, player.getIndex());
+            }
+            return evaluator;
+        };
+    }
+
+    /**
+     * Measures taking the token of the highest type from a bag, the token is returned afterwards.
+     */
+    private static Benchmark removeToken(final Player player) {
+        Token highest = null;
+        for (final Token token : player.getTokens()) {
+            highest = token;
+        }
+        final Token wanted = highest;
+        return () -> {
+            final Token removed = player.removeToken(wanted);
+            player.addToken(removed);
+            return removed;
+        };
+    }
+}
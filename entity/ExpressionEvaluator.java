@@ -0,0 +1,116 @@
+
+
+package edu.kit.informatik.scrabble.entity;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates expressions in reverse polish notation token by token on a primitive stack. Counts the tokens of every
+ * owner to find the owner of the expression. Reuses its buffers for every expression, so an instance must not be
+ * shared between threads, but any number of instances can be used concurrently.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class ExpressionEvaluator {
+    /**
+     * The minimum number of tokens of a valid expression.
+     */
+    public static final int MINIMUM_EXPRESSION_LENGTH = 3;
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] stack = new int[INITIAL_CAPACITY];
+    private int[] ownerTokenCounts = new int[INITIAL_CAPACITY];
+    private int depth = 0;
+    private int length = 0;
+    private int highestOwner = -1;
+    private boolean failed = false;
+
+    /**
+     * Starts the evaluation of a new expression.
+     */
+    public void reset() {
+        if (highestOwner >= 0) {
+            Arrays.fill(ownerTokenCounts, 0, highestOwner + 1, 0);
+        }
+        depth = 0;
+        length = 0;
+        highestOwner = -1;
+        failed = false;
+    }
+
+    /**
+     * Appends the given token to the current expression. Once an operator is missing an operand, the expression
+     * stays invalid regardless of the following tokens.
+     *
+     * @param tokenType the type of the token
+     * @param owner the non negative index of the owner of the token
+     *
+     * @return whether or not the expression is still free of errors
+     */
+    public boolean push(final TokenType tokenType, final int owner) {
+        length++;
+        countOwner(owner);
+        if (failed) {
+            return false;
+        }
+        if (tokenType.isOperator()) {
+            if (depth < 2) {
+                failed = true;
+                return false;
+            }
+            // the operands are pushed in reverse order so we have to access them reversed
+            final int secondOperand = stack[--depth];
+            final int firstOperand = stack[depth - 1];
+            stack[depth - 1] = tokenType.calculate(firstOperand, secondOperand);
+        } else {
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+            }
+            stack[depth++] = tokenType.getValue();
+        }
+        return true;
+    }
+
+    private void countOwner(final int owner) {
+        if (owner >= ownerTokenCounts.length) {
+            ownerTokenCounts = Arrays.copyOf(ownerTokenCounts, Math.max(owner + 1, ownerTokenCounts.length * 2));
+        }
+        ownerTokenCounts[owner]++;
+        highestOwner = Math.max(highestOwner, owner);
+    }
+
+    /**
+     * Returns whether or not the tokens pushed since the last {@link #reset()} form a valid expression.
+     *
+     * @return whether or not the current expression is valid and has a value
+     */
+    public boolean isValid() {
+        return !failed && depth == 1 && length >= MINIMUM_EXPRESSION_LENGTH;
+    }
+
+    /**
+     * Returns the value of the current expression, only meaningful if {@link #isValid()} holds.
+     *
+     * @return the value of the current expression
+     */
+    public int getValue() {
+        return stack[0];
+    }
+
+    /**
+     * Returns the owner with the most tokens in the current expression, the lowest owner wins a tie.
+     *
+     * @return the index of the owner of the current expression
+     */
+    public int getOwner() {
+        int owner = 0;
+        int ownerTokenCount = 0;
+        for (int index = 0; index <= highestOwner; index++) {
+            if (ownerTokenCounts[index] > ownerTokenCount) {
+                ownerTokenCount = ownerTokenCounts[index];
+                owner = index;
+            }
+        }
+        return owner;
+    }
+}
@@ -7,8 +7,8 @@ import edu.kit.informatik.scrabble.GameException;
 import java.util.Objects;
 
 /**
- * Encapsulates the result of the evaluation of an {@link Expression}. Consists of a {@link Player}, a score and
- * whether or not the expression was valid.
+ * Encapsulates the result of the evaluation of an expression. Consists of a {@link Player}, a score and whether or
+ * not the expression was valid.
  *
  * @author Sara
  * @version 1.0
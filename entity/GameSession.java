@@ -0,0 +1,79 @@
+
+
+package edu.kit.informatik.scrabble.entity;
+
+import edu.kit.informatik.scrabble.GameException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Encapsulates the players of a single game. Every game has its own session, so any number of games can run in the
+ * same virtual machine, each with its own players of the same indices. The players are kept in an array indexed by
+ * their seat, which is their index decreased by one. A session is used by a single game and must not be shared
+ * between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class GameSession {
+    private static final int INITIAL_CAPACITY = 2;
+    private Player[] players = new Player[INITIAL_CAPACITY];
+    private int playerCount;
+
+    /**
+     * Creates a new player with the given index in this session.
+     *
+     * @param index the index of the player
+     *
+     * @return the new player
+     *
+     * @throws GameException occurs if this session already contains a player with the same index or the index is
+     *         not positive
+     */
+    public Player createPlayer(final int index) throws GameException {
+        if (index < 1) {
+            throw new GameException("invalid player index " + index);
+        }
+        if (index > players.length) {
+            players = Arrays.copyOf(players, Math.max(index, players.length * 2));
+        }
+        if (players[index - 1] != null) {
+            throw new GameException("attempted to initiate another player with the same index " + index);
+        }
+        final Player player = new Player(index);
+        players[index - 1] = player;
+        playerCount++;
+        return player;
+    }
+
+    /**
+     * Returns the player with the given index if possible, null otherwise.
+     *
+     * @param index the index of the player
+     *
+     * @return the player with the given index if it exists, null otherwise
+     */
+    public Player getPlayer(final int index) {
+        return index >= 1 && index <= players.length
+                ? players[index - 1]
+                : null;
+    }
+
+    /**
+     * Returns the players of this session.
+     *
+     * @return an unmodifiable collection of the players ordered by their index
+     */
+    public Collection<Player> getPlayers() {
+        final Collection<Player> sessionPlayers = new ArrayList<>(playerCount);
+        for (final Player player : players) {
+            if (player != null) {
+                sessionPlayers.add(player);
+            }
+        }
+        return Collections.unmodifiableCollection(sessionPlayers);
+    }
+}
@@ -26,6 +26,11 @@ public enum Orientation {
         }
     };
 
+    /**
+     * The separator of the alternatives in the character class of {@link #getOrientationPattern()}, which the class
+     * matches as well.
+     */
+    private static final char PATTERN_SEPARATOR = '|';
     private final String pattern;
 
     /**
@@ -62,6 +67,34 @@ public enum Orientation {
         return null;
     }
 
+    /**
+     * Parses the given character to a orientation like {@link #parseFromString(String)} without creating a String.
+     *
+     * @param orientation the character containing the orientation pattern
+     *
+     * @return the parsed {@link Orientation} if possible, null otherwise
+     */
+    public static Orientation parseFromCharacter(final char orientation) {
+        for (final Orientation candidate : Orientation.values()) {
+            if (candidate.pattern.charAt(0) == orientation) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether or not the given character matches {@link #getOrientationPattern()}, which matches the
+     * separator of its alternatives as well.
+     *
+     * @param character the character
+     *
+     * @return whether or not the character is matched by the pattern of an orientation
+     */
+    public static boolean isOrientationCharacter(final char character) {
+        return parseFromCharacter(character) != null || character == PATTERN_SEPARATOR;
+    }
+
     /**
      * The directional difference to grow an expression.
      *
@@ -5,40 +5,45 @@ package edu.kit.informatik.scrabble.entity;
 import edu.kit.informatik.scrabble.GameException;
 import edu.kit.informatik.scrabble.ui.Main;
 
-import java.util.ArrayList;
+import java.util.AbstractCollection;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.TreeMap;
 
 /**
- * Encapsulates a player of this board game.
+ * Encapsulates a player of this board game. Players are created by the {@link GameSession} of their game, which
+ * ensures that the indices of the players of a game are unique. The bag of a player is a multiset counting the
+ * tokens of every {@link TokenType}, so taking and returning a token takes constant time. Tokens of the same type
+ * are not distinguished, every token of a player is the same token of its type as returned by
+ * {@link #getToken(TokenType)}.
  *
  * @author Sara
  * @version 1.0
  */
 public class Player {
-
-    private static final Map<Integer, Player> AVAILABLE_PLAYERS = new TreeMap<>();
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
     private final int index;
-    private final List<Token> tokens;
+    /**
+     * The number of tokens of this player indexed by the ordinal of their type.
+     */
+    private final int[] tokenCounts = new int[TOKEN_TYPES.length];
+    /**
+     * The token of every type handed out by this player, created on demand.
+     */
+    private final Token[] typeTokens = new Token[TOKEN_TYPES.length];
+    private final Collection<Token> tokens = new Bag();
+    private int size;
 
     /**
-     * Instantiates a new player with the given index.
+     * Instantiates a new player with the given index. Use {@link GameSession#createPlayer(int)} to create the
+     * players of a game.
      *
      * @param index the index of this player
-     *
-     * @throws GameException occurs if a player with the same index shall be added
      */
-    public Player(final int index) throws GameException {
-        if (AVAILABLE_PLAYERS.containsKey(index)) {
-            throw new GameException("attempted to initiate another player with the same index " + index);
-        }
+    public Player(final int index) {
         this.index = index;
-        tokens = new ArrayList<>();
-        AVAILABLE_PLAYERS.put(index, this);
     }
 
     /**
@@ -51,43 +56,20 @@ public class Player {
     }
 
     /**
-     * Returns the player with the given index if possible, null otherwise.
-     *
-     * @param index the index of the player
-     *
-     * @return the player with the given index if it exists, null otherwise
-     */
-    public static Player getPlayer(final int index) {
-        return AVAILABLE_PLAYERS.get(index);
-    }
-
-    /**
-     * Returns the index of the player with the highest index.
-     *
-     * @return the index of the player with the highest index
-     */
-    public static int getHighestPlayerIndex() {
-        int playerIndex = 0;
-        for (final Player player : AVAILABLE_PLAYERS.values()) {
-            playerIndex = Math.max(playerIndex, player.getIndex());
-        }
-        return playerIndex;
-    }
-
-    /**
-     * Removes the given token from this player if possible.
+     * Removes a token of the type of the given token from this player if possible.
      *
      * @param token the token to remove
      *
-     * @return whether or not the given token could be removed from the inventory of this player
+     * @return the removed token of this player, null if this player has no token of the given type
      */
     public Token removeToken(final Token token) {
-        if (tokens.contains(token)) {
-            final Token availableToken = tokens.get(tokens.indexOf(token));
-            tokens.remove(availableToken);
-            return availableToken;
+        final int type = token.getTokenType().ordinal();
+        if (tokenCounts[type] == 0) {
+            return null;
         }
-        return null;
+        tokenCounts[type]--;
+        size--;
+        return getToken(token.getTokenType());
     }
 
     /**
@@ -98,7 +80,10 @@ public class Player {
      * @return whether or not all tokens could be added
      */
     public boolean addAllTokens(final Collection<Token> tokens) {
-        return this.tokens.addAll(tokens);
+        for (final Token token : tokens) {
+            addTokens(token.getTokenType(), 1);
+        }
+        return !tokens.isEmpty();
     }
 
     /**
@@ -114,7 +99,79 @@ public class Player {
         if (!token.getPlayer().equals(this)) {
             throw new GameException("tried to add a token from another player to " + "this one!");
         }
-        return tokens.add(token);
+        addTokens(token.getTokenType(), 1);
+        return true;
+    }
+
+    /**
+     * Adds the given number of tokens of the given type to this player.
+     *
+     * @param tokenType the type of the tokens
+     * @param count the number of tokens to add
+     *
+     * @throws GameException occurs if the given count is negative or the player would own more than
+     *         {@link Integer#MAX_VALUE} tokens
+     */
+    public void addTokens(final TokenType tokenType, final int count) throws GameException {
+        if (count < 0 || count > Integer.MAX_VALUE - size) {
+            throw new GameException("invalid number of tokens " + count);
+        }
+        tokenCounts[tokenType.ordinal()] += count;
+        size += count;
+    }
+
+    /**
+     * Returns whether or not this player owns all of the given tokens, counting every token separately.
+     *
+     * @param tokens the tokens
+     *
+     * @return whether or not all of the given tokens could be removed from this player
+     */
+    public boolean hasTokens(final Token... tokens) {
+        final int[] required = new int[TOKEN_TYPES.length];
+        for (final Token token : tokens) {
+            final int type = token.getTokenType().ordinal();
+            required[type]++;
+            if (required[type] > tokenCounts[type]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of tokens of the given type of this player.
+     *
+     * @param tokenType the type of the tokens
+     *
+     * @return the number of tokens of the given type
+     */
+    public int getTokenCount(final TokenType tokenType) {
+        return tokenCounts[tokenType.ordinal()];
+    }
+
+    /**
+     * Returns the number of tokens of every type of this player.
+     *
+     * @return a copy of the token counts indexed by the ordinal of the token types
+     */
+    public int[] getTokenCounts() {
+        return Arrays.copyOf(tokenCounts, tokenCounts.length);
+    }
+
+    /**
+     * Returns the token of the given type of this player. Tokens of a player are only distinguished by their type,
+     * so the same token is returned for every call with the same type.
+     *
+     * @param tokenType the type of the token
+     *
+     * @return the token of the given type owned by this player
+     */
+    public Token getToken(final TokenType tokenType) {
+        if (typeTokens[tokenType.ordinal()] == null) {
+            typeTokens[tokenType.ordinal()] = new Token(tokenType, this);
+        }
+        return typeTokens[tokenType.ordinal()];
     }
 
     /**
@@ -129,11 +186,10 @@ public class Player {
     /**
      * Returns the tokens of this player.
      *
-     * @return a sorted and unmodifiable collection of the tokens of this player
+     * @return a sorted and unmodifiable view of the tokens of this player, which reflects later changes
      */
     public Collection<Token> getTokens() {
-        Collections.sort(tokens);
-        return Collections.unmodifiableCollection(tokens);
+        return tokens;
     }
 
     @Override public boolean equals(final Object o) {
@@ -154,4 +210,49 @@ public class Player {
     @Override public String toString() {
         return Main.PLAYER_CHARACTER + index;
     }
+
+    /**
+     * Unmodifiable view of the bag of this player, which lists the tokens in the order of their types.
+     */
+    private final class Bag extends AbstractCollection<Token> {
+        @Override public Iterator<Token> iterator() {
+            return new Iterator<Token>() {
+                private int type = nextType(0);
+                private int remaining = type < TOKEN_TYPES.length
+                        ? tokenCounts[type]
+                        : 0;
+
+                @Override public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override public Token next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final Token token = getToken(TOKEN_TYPES[type]);
+                    remaining--;
+                    if (remaining == 0) {
+                        type = nextType(type + 1);
+                        remaining = type < TOKEN_TYPES.length
+                                ? tokenCounts[type]
+                                : 0;
+                    }
+                    return token;
+                }
+            };
+        }
+
+        @Override public int size() {
+            return size;
+        }
+
+        private int nextType(final int start) {
+            int type = start;
+            while (type < TOKEN_TYPES.length && tokenCounts[type] == 0) {
+                type++;
+            }
+            return type;
+        }
+    }
 }
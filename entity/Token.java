@@ -7,16 +7,17 @@ import java.util.Collection;
 import java.util.Objects;
 
 /**
- * Represents a token with a type, a player and a unique id.
+ * Represents a token with a type and a player. The engine stores tokens as their type and the seat of
+ * their owner, so tokens are only views which are shared: a player hands out one token per type as described in
+ * {@link Player#getToken(TokenType)} and parsed tokens without a player are shared by their type.
  *
  * @author Sara
  * @version 1.0
  */
 public class Token implements Comparable<Token> {
-    private static int identifier = 0;
+    private static final Token[] WITHOUT_PLAYER = createTokensWithoutPlayer();
     private final TokenType tokenType;
     private final Player player;
-    private final int id;
 
     /**
      * Instantiates a new Token with the given arguments.
@@ -27,7 +28,6 @@ public class Token implements Comparable<Token> {
     public Token(final TokenType tokenType, final Player player) {
         this.tokenType = tokenType;
         this.player = player;
-        id = identifier++;
     }
 
     /**
@@ -38,7 +38,15 @@ public class Token implements Comparable<Token> {
     private Token(final TokenType tokenType) {
         player = null;
         this.tokenType = tokenType;
-        id = identifier++;
+    }
+
+    private static Token[] createTokensWithoutPlayer() {
+        final TokenType[] tokenTypes = TokenType.values();
+        final Token[] tokens = new Token[tokenTypes.length];
+        for (final TokenType tokenType : tokenTypes) {
+            tokens[tokenType.ordinal()] = new Token(tokenType);
+        }
+        return tokens;
     }
 
     /**
@@ -47,7 +55,8 @@ public class Token implements Comparable<Token> {
      *
      * @param tokensString the string containing the token representations
      *
-     * @return an array containing the parsed tokens, null if the given String is malformed
+     * @return an array containing the parsed tokens, null if the given String is malformed or contains the
+     *         separator of the token patterns
      */
     public static Token[] parseTokensWithoutPlayer(final String tokensString) {
         if (tokensString == null || !tokensString.matches(TokenType.getTokensPattern().pattern())) {
@@ -55,11 +64,37 @@ public class Token implements Comparable<Token> {
         }
         final Collection<Token> tokens = new ArrayList<>();
         for (final char tokenString : tokensString.toCharArray()) {
-            tokens.add(new Token(TokenType.parseFromString(String.valueOf(tokenString))));
+            final TokenType tokenType = TokenType.parseFromCharacter(tokenString);
+            if (tokenType == null) {
+                return null;
+            }
+            tokens.add(WITHOUT_PLAYER[tokenType.ordinal()]);
         }
         return tokens.toArray(new Token[0]);
     }
 
+    /**
+     * Parses the given range of characters to a token array like {@link #parseTokensWithoutPlayer(String)} without
+     * creating a String.
+     *
+     * @param tokens the characters containing the token representations
+     * @param start the index of the first character of the range
+     * @param end the index after the last character of the range
+     *
+     * @return an array containing the parsed tokens, null if the given range is malformed
+     */
+    public static Token[] parseTokensWithoutPlayer(final CharSequence tokens, final int start, final int end) {
+        final Token[] parsed = new Token[end - start];
+        for (int index = start; index < end; index++) {
+            final TokenType tokenType = TokenType.parseFromCharacter(tokens.charAt(index));
+            if (tokenType == null) {
+                return null;
+            }
+            parsed[index - start] = WITHOUT_PLAYER[tokenType.ordinal()];
+        }
+        return parsed;
+    }
+
     /**
      * The token type of this token.
      *
@@ -78,24 +113,6 @@ public class Token implements Comparable<Token> {
         return player;
     }
 
-    /**
-     * Method to compare Tokens based on all of their attributes.
-     *
-     * @param token the token to compare to
-     *
-     * @return whether or not the given token and this one equal completely, thus having the same {@link TokenType},
-     *         the same {@link Player} and the same unique id.
-     */
-    public boolean equalsCompletely(final Token token) {
-        if (token == null) {
-            return false;
-        }
-        if (this == token) {
-            return true;
-        }
-        return tokenType.equals(token.tokenType) && Objects.equals(player, token.player) && id == token.id;
-    }
-
     @Override public int compareTo(final Token o) {
         return tokenType.compareTo(o.tokenType);
     }
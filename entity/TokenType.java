@@ -57,9 +57,8 @@ public enum TokenType {
      * The operator +.
      */
     PLUS('+') {
-        @Override public int calculate(final TokenType firstOperand, final TokenType secondOperand)
-                throws GameException {
-            return firstOperand.getValue() + secondOperand.getValue();
+        @Override public int calculate(final int firstOperand, final int secondOperand) throws GameException {
+            return firstOperand + secondOperand;
         }
 
         @Override public int getIntPattern() throws GameException {
@@ -78,9 +77,8 @@ public enum TokenType {
      * The operator -.
      */
     MINUS('-') {
-        @Override public int calculate(final TokenType firstOperand, final TokenType secondOperand)
-                throws GameException {
-            return firstOperand.getValue() - secondOperand.getValue();
+        @Override public int calculate(final int firstOperand, final int secondOperand) throws GameException {
+            return firstOperand - secondOperand;
         }
 
         @Override public int getIntPattern() throws GameException {
@@ -99,9 +97,8 @@ public enum TokenType {
      * The operator *.
      */
     TIMES('*') {
-        @Override public int calculate(final TokenType firstOperand, final TokenType secondOperand)
-                throws GameException {
-            return firstOperand.getValue() * secondOperand.getValue();
+        @Override public int calculate(final int firstOperand, final int secondOperand) throws GameException {
+            return firstOperand * secondOperand;
         }
 
         @Override public int getIntPattern() throws GameException {
@@ -115,23 +112,20 @@ public enum TokenType {
         @Override public boolean isOperator() {
             return true;
         }
-    },
+    };
+
     /**
-     * An arbitrary operand that can hold any integer value.
+     * The separator of the alternatives in the character classes of the patterns, which the classes match as well.
      */
-    ARBITRARY('a') {
-        private int value;
-
-        @Override public void setValue(final int value) throws GameException {
-            this.value = value;
-        }
+    private static final char PATTERN_SEPARATOR = '|';
+    private static final TokenType[] BY_CHARACTER = new TokenType[Byte.MAX_VALUE + 1];
+    private final char pattern;
 
-        @Override public int getValue() {
-            return value;
+    static {
+        for (final TokenType type : values()) {
+            BY_CHARACTER[type.pattern] = type;
         }
-    };
-
-    private final char pattern;
+    }
 
     /**
      * Instantiates a new {@link TokenType} with the given pattern.
@@ -180,6 +174,32 @@ public enum TokenType {
         return null;
     }
 
+    /**
+     * Parses the given character to a {@link TokenType} like {@link #parseFromString(String)} without creating a
+     * String.
+     *
+     * @param tokenType the character containing the token type pattern
+     *
+     * @return the token type with the identical pattern if available, null otherwise
+     */
+    public static TokenType parseFromCharacter(final char tokenType) {
+        return tokenType < BY_CHARACTER.length
+                ? BY_CHARACTER[tokenType]
+                : null;
+    }
+
+    /**
+     * Returns whether or not the given character matches {@link #getTokenTypePattern()}, which matches the
+     * separator of its alternatives as well.
+     *
+     * @param character the character
+     *
+     * @return whether or not the character is matched by the pattern of a single token
+     */
+    public static boolean isTokenCharacter(final char character) {
+        return parseFromCharacter(character) != null || character == PATTERN_SEPARATOR;
+    }
+
     /**
      * Calculates the result of this operation. If this method is called on an operand, a {@link GameException} is
      * thrown.
@@ -192,6 +212,21 @@ public enum TokenType {
      * @throws GameException occurs if this method is called on operands instead of operators
      */
     public int calculate(final TokenType firstOperand, final TokenType secondOperand) throws GameException {
+        return calculate(firstOperand.getValue(), secondOperand.getValue());
+    }
+
+    /**
+     * Calculates the result of this operation on the given values. If this method is called on an operand, a
+     * {@link GameException} is thrown.
+     *
+     * @param firstOperand the value of the first operand for an operation
+     * @param secondOperand the value of the second operand for an operation
+     *
+     * @return the result of the operation
+     *
+     * @throws GameException occurs if this method is called on operands instead of operators
+     */
+    public int calculate(final int firstOperand, final int secondOperand) throws GameException {
         throw new GameException("tried to calculate on an operand!");
     }
 
@@ -203,8 +238,8 @@ public enum TokenType {
      * @throws GameException occurs if this method is called on operators instead of operands
      */
     public int getIntPattern() throws GameException {
-        // since pattern is a char, a simple "" does not suffice
-        return Integer.parseInt(String.valueOf(pattern));
+        // the digits are consecutive characters, thus the distance to zero is the value
+        return pattern - ZERO.pattern;
     }
 
     /**
@@ -234,18 +269,6 @@ public enum TokenType {
         return false;
     }
 
-    /**
-     * Sets the given value if possible, throws an exception if this method is called on an operand with predefined
-     * value.
-     *
-     * @param value the new value containid in this token
-     *
-     * @throws GameException occurs if this method is called on an operand with a predefined value
-     */
-    public void setValue(final int value) throws GameException {
-        throw new GameException("tried to set a value on a non arbitrary element!");
-    }
-
     /**
      * Returns the integer value of this token type.
      *
@@ -4,15 +4,22 @@ package edu.kit.informatik.scrabble.game;
 
 import edu.kit.informatik.scrabble.GameException;
 import edu.kit.informatik.scrabble.entity.ExpressionResult;
+import edu.kit.informatik.scrabble.entity.GameSession;
 import edu.kit.informatik.scrabble.entity.Orientation;
 import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.entity.Token;
 import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.metrics.EngineMetrics;
 import edu.kit.informatik.scrabble.ui.ExecutionState;
 import edu.kit.informatik.scrabble.ui.Main;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -22,14 +29,30 @@ import java.util.List;
  * @version 1.0
  */
 public class ArithmeticScrabble implements ArithmeticScrabbleGame {
+    /**
+     * The session containing the players of this game.
+     */
+    private final GameSession session = new GameSession();
     private final Player[] players;
-    private GameBoard board;
+    private final ArithmeticScrabbleBoard board;
     private int activePlayerIndex = 0;
     private boolean hasEnded = false;
+    /**
+     * The placements of this game, the most recent one first.
+     */
+    private final Deque<Move> history = new ArrayDeque<>();
+    /**
+     * The placements reverted by {@link #undo()}, the most recently reverted one first.
+     */
+    private final Deque<Move> undoneMoves = new ArrayDeque<>();
     /**
      * The execution state of this database.
      */
     private ExecutionState executionState;
+    /**
+     * The observer of the changes of this game.
+     */
+    private GameObserver observer = GameObserver.NONE;
 
     /**
      * Instantiates a new {@link ArithmeticScrabble}.
@@ -39,24 +62,123 @@ public class ArithmeticScrabble implements ArithmeticScrabbleGame {
      * @throws GameException occurs if the token lists are malformed
      */
     public ArithmeticScrabble(final String[] playerRepresentations) throws GameException {
+        this(playerRepresentations, ArithmeticScrabbleBoard.BOARD_SIZE);
+    }
+
+    /**
+     * Instantiates a new {@link ArithmeticScrabble} played on a board with the given size.
+     *
+     * @param playerRepresentations Strings containing the token lists for the players
+     * @param boardSize the number of rows and columns of the board
+     *
+     * @throws GameException occurs if the token lists are malformed or the board size is invalid
+     */
+    public ArithmeticScrabble(final String[] playerRepresentations, final int boardSize) throws GameException {
         executionState = ExecutionState.RUNNING;
+        board = new ArithmeticScrabbleBoard(boardSize);
         players = new Player[playerRepresentations.length];
         initiatePlayers(playerRepresentations, playerRepresentations.length);
-        board = new ArithmeticScrabbleBoard();
     }
 
-    private static Player initiatePlayer(final int playerIndex, final String playerRepresentation) {
-        final Player player = new Player(playerIndex);
+    private Player initiatePlayer(final int playerIndex, final String playerRepresentation) {
+        final Player player = session.createPlayer(playerIndex);
         for (final char token : playerRepresentation.toCharArray()) {
-            player.addToken(new Token(TokenType.parseFromString(String.valueOf(token)), player));
+            // the pattern of the token list also accepts the separator, which is no token
+            final TokenType type = TokenType.parseFromCharacter(token);
+            if (type == null) {
+                throw new GameException("given player tokens are invalid " + playerRepresentation);
+            }
+            player.addTokens(type, 1);
         }
         return player;
     }
 
-    private Player getActivePlayer() {
+    /**
+     * Returns the player whose turn it is.
+     *
+     * @return the active player
+     */
+    public Player getActivePlayer() {
         return players[activePlayerIndex];
     }
 
+    /**
+     * Returns the players of this game in the order of their turns.
+     *
+     * @return a copy of the array of players
+     */
+    public Player[] getPlayers() {
+        return players.clone();
+    }
+
+    /**
+     * Returns a copy of the board of this game which can be changed without affecting this game.
+     *
+     * @return a copy of the board
+     */
+    public GameBoard copyBoard() {
+        return board.cloneBoard();
+    }
+
+    /**
+     * Returns the board of this game, which is only changed by this game and by restoring a {@link GameSnapshot}.
+     *
+     * @return the board of this game
+     */
+    ArithmeticScrabbleBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the index of the player whose turn it is in the order of {@link #getPlayers()}.
+     *
+     * @return the index of the active player
+     */
+    int getActivePlayerIndex() {
+        return activePlayerIndex;
+    }
+
+    /**
+     * Returns whether or not this game has been ended by {@link #end()}.
+     *
+     * @return whether or not this game has ended
+     */
+    public boolean hasEnded() {
+        return hasEnded;
+    }
+
+    /**
+     * Restores the turn and the state of this game from a {@link GameSnapshot}. The placements recorded before are
+     * discarded, so they can neither be undone nor redone.
+     *
+     * @param activePlayerIndex the index of the active player
+     * @param hasEnded whether or not the game has ended
+     * @param isActive whether or not the game is running
+     *
+     * @throws GameException occurs if there is no player with the given index
+     */
+    void restore(final int activePlayerIndex, final boolean hasEnded, final boolean isActive) throws GameException {
+        if (activePlayerIndex < 0 || activePlayerIndex >= players.length) {
+            throw new GameException("invalid active player " + activePlayerIndex);
+        }
+        this.activePlayerIndex = activePlayerIndex;
+        this.hasEnded = hasEnded;
+        executionState = isActive
+                ? ExecutionState.RUNNING
+                : ExecutionState.EXITED;
+        history.clear();
+        undoneMoves.clear();
+    }
+
+    /**
+     * Sets the observer notified after every successful change of this game, replacing the previous one.
+     *
+     * @param observer the observer, {@link GameObserver#NONE} to stop observing this game
+     */
+    public void setObserver(final GameObserver observer) {
+        this.observer = observer;
+    }
+
     private void changePlayer() {
         activePlayerIndex = activePlayerIndex == players.length - 1
                 ? 0
@@ -65,31 +187,90 @@ public class ArithmeticScrabble implements ArithmeticScrabbleGame {
 
     @Override public String place(final int row, final int column, final Orientation orientation,
             final Token... tokens) {
-        int rowIndex = row;
-        int columnIndex = column;
         executableOrThrow();
-        final List<Token> playerTokens = getTokensFromPlayer(tokens);
-        final GameBoard changedBoard = board.cloneBoard();
-        for (final Token token : playerTokens) {
-            if (!changedBoard.add(rowIndex, columnIndex, token)) {
-                players[activePlayerIndex].addAllTokens(playerTokens);
-                throw new GameException("token " + token + " could not be placed!");
+        final Move move = new Move(row, column, orientation, getTokensFromPlayer(tokens).toArray(new Token[0]));
+        placeOrThrow(move);
+        history.push(move);
+        undoneMoves.clear();
+        observer.placed(move);
+        return Main.OK;
+    }
+
+    /**
+     * Places the tokens of the given move, which have already been taken from the active player, on the board and
+     * changes the active player. If the placement is not possible the board stays unchanged and the tokens are
+     * returned to the active player.
+     *
+     * @param move the move to place
+     *
+     * @throws GameException occurs if the move cannot be placed
+     */
+    private void placeOrThrow(final Move move) throws GameException {
+        final Token[] playerTokens = move.getTokens();
+        for (int index = 0; index < playerTokens.length; index++) {
+            if (!board.add(move.getRow(index), move.getColumn(index), playerTokens[index])) {
+                reject(playerTokens);
+                throw new GameException("token " + playerTokens[index] + " could not be placed!");
             }
-            rowIndex += orientation.getDirectionalDifference()[0];
-            columnIndex += orientation.getDirectionalDifference()[1];
         }
+        final GameResult result;
         try {
-            changedBoard.evaluate();
+            result = board.evaluate();
         } catch (final GameException exception) {
-            players[activePlayerIndex].addAllTokens(playerTokens);
+            reject(playerTokens);
             throw exception;
         }
-        if (changedBoard.evaluate().isValid()) {
-            changePlayer();
-            board = changedBoard;
-            return Main.OK;
+        if (!result.isValid()) {
+            reject(playerTokens);
+            throw new GameException("invalid placement!");
+        }
+        board.commit();
+        changePlayer();
+    }
+
+    /**
+     * Undoes a rejected placement by rolling back the board and returning the given tokens to the active player.
+     *
+     * @param playerTokens the tokens of the rejected placement
+     */
+    private void reject(final Token[] playerTokens) {
+        board.rollback();
+        getActivePlayer().addAllTokens(Arrays.asList(playerTokens));
+        EngineMetrics.getShared().countRejectedPlacement();
+    }
+
+    @Override public String undo() {
+        executableOrThrow();
+        if (history.isEmpty()) {
+            throw new GameException("there is no placement to undo!");
+        }
+        final Move move = history.pop();
+        final Token[] tokens = move.getTokens();
+        for (int index = 0; index < tokens.length; index++) {
+            board.remove(move.getRow(index), move.getColumn(index));
+        }
+        board.commit();
+        // the move was placed by the player before the active one
+        activePlayerIndex = activePlayerIndex == 0
+                ? players.length - 1
+                : activePlayerIndex - 1;
+        getActivePlayer().addAllTokens(Arrays.asList(tokens));
+        undoneMoves.push(move);
+        observer.undone();
+        return Main.OK;
+    }
+
+    @Override public String redo() {
+        executableOrThrow();
+        if (undoneMoves.isEmpty()) {
+            throw new GameException("there is no placement to redo!");
         }
-        throw new GameException("invalid placement!");
+        final Move move = undoneMoves.peek();
+        placeOrThrow(new Move(move.getRow(), move.getColumn(), move.getOrientation(),
+                              getTokensFromPlayer(move.getTokens()).toArray(new Token[0])));
+        history.push(undoneMoves.pop());
+        observer.redone();
+        return Main.OK;
     }
 
     private List<Token> getTokensFromPlayer(final Token[] tokens) {
@@ -98,6 +279,7 @@ public class ArithmeticScrabble implements ArithmeticScrabbleGame {
             final Token availableToken = players[activePlayerIndex].removeToken(token);
             if (availableToken == null) {
                 players[activePlayerIndex].addAllTokens(playerTokens);
+                EngineMetrics.getShared().countRejectedPlacement();
                 throw new GameException(
                         "token " + token + " not found in this players bag " + bag(players[activePlayerIndex]));
             }
@@ -123,16 +305,47 @@ public class ArithmeticScrabble implements ArithmeticScrabbleGame {
 
     @Override public void quit() {
         executionState = ExecutionState.EXITED;
+        observer.quit();
     }
 
     @Override public GameResult end() {
         executableOrThrow();
         hasEnded = true;
-        return board.evaluate();
+        observer.ended();
+        return getStandings();
     }
 
     @Override public ExpressionResult score(final Player player) {
-        return board.evaluate().getPlayerResult(player);
+        return new ExpressionResult(player, board.getLedger().getScore(player), true);
+    }
+
+    /**
+     * Returns the expressions owned by the given player, whose scores add up to the score of the player.
+     *
+     * @param player a player of this game
+     *
+     * @return the expressions of the player on the board
+     */
+    public Collection<ExpressionResult> getExpressions(final Player player) {
+        return board.getLedger().getExpressions(player);
+    }
+
+    /**
+     * Returns the scores of all players from the ledger of the board, which records the expressions of every
+     * committed change, so the expressions of the board are not collected again.
+     *
+     * @return the result containing one score per player
+     */
+    private GameResult getStandings() {
+        final Collection<ExpressionResult> results = new ArrayList<>(players.length);
+        for (final Player player : players) {
+            results.add(new ExpressionResult(player, board.getLedger().getScore(player), true));
+        }
+        return new GameResult(results, true, session.getPlayers());
+    }
+
+    @Override public Player getPlayer(final int index) {
+        return session.getPlayer(index);
     }
 
     @Override public Collection<Token> bag(final Player player) {
@@ -143,6 +356,10 @@ public class ArithmeticScrabble implements ArithmeticScrabbleGame {
         return board.print();
     }
 
+    @Override public int print(final Writer output, final String linePrefix) throws IOException {
+        return board.print(output, linePrefix);
+    }
+
     private void executableOrThrow() throws GameException {
         if (hasEnded) {
             throw new GameException("this command cannot be executed after the game has ended");
@@ -3,69 +3,204 @@
 package edu.kit.informatik.scrabble.game;
 
 import edu.kit.informatik.scrabble.GameException;
-import edu.kit.informatik.scrabble.entity.Expression;
+import edu.kit.informatik.scrabble.entity.ExpressionEvaluator;
+import edu.kit.informatik.scrabble.entity.ExpressionResult;
 import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.entity.Token;
-import edu.kit.informatik.scrabble.ui.Main;
+import edu.kit.informatik.scrabble.metrics.EngineMetrics;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.StringJoiner;
-import java.util.stream.Collectors;
 
 /**
- * Encapsulates a board for an {@link ArithmeticScrabbleGame}.
+ * Encapsulates a board for an {@link ArithmeticScrabbleGame}. The fields are stored as packed bytes as described in
+ * {@link Cell}, small boards use a dense {@link PackedCellStorage} while large boards use a sparse
+ * {@link ChunkedCellStorage}. {@link Token} instances are only created by {@link #get(int, int)}.
  *
  * @author Sara
  * @version 1.0
  */
 public class ArithmeticScrabbleBoard implements GameBoard {
     /**
-     * The size of this board.
+     * The default size of a board.
      */
     public static final int BOARD_SIZE = 10;
-    private final Token[][] board;
+    /**
+     * The fields of this board.
+     */
+    private final CellStorage cells;
+    /**
+     * The players owning the tokens on this board indexed by their seat.
+     */
+    private final Player[] owners;
+    /**
+     * The cached evaluations of all rows, null entries belong to empty or dirty rows.
+     */
+    private final LineEvaluation[] rowEvaluations;
+    /**
+     * The cached evaluations of all columns, null entries belong to empty or dirty columns.
+     */
+    private final LineEvaluation[] columnEvaluations;
+    /**
+     * The rows which have to be evaluated again.
+     */
+    private final BitSet dirtyRows;
+    /**
+     * The columns which have to be evaluated again.
+     */
+    private final BitSet dirtyColumns;
+    /**
+     * For every row the columns whose evaluation covers the field in this row, null if there are none.
+     */
+    private final BitSet[] crossCoverages;
+    /**
+     * For every column the coverage which is contained in {@link #crossCoverages}.
+     */
+    private final BitSet[] appliedColumnCoverages;
+    /**
+     * The rows whose evaluation changed since the last coverage update.
+     */
+    private final BitSet staleRows;
+    /**
+     * The columns whose evaluation changed since the last coverage update.
+     */
+    private final BitSet staleColumns;
+    /**
+     * The rows containing tokens which are not part of any expression.
+     */
+    private final BitSet uncoveredRows;
+    /**
+     * The sum of the scores of all cached line evaluations indexed by the seat of the players.
+     */
+    private final int[] seatScores;
+    /**
+     * The scores and expressions of the committed state of this board.
+     */
+    private final ScoreLedger ledger;
+    /**
+     * The Zobrist hash of the fields of this board.
+     */
+    private long hash = 0;
+    /**
+     * The changes since the last commit.
+     */
+    private final ChangeJournal journal = new ChangeJournal();
+    /**
+     * The evaluator for the expressions of this board.
+     */
+    private final ExpressionEvaluator evaluator = new ExpressionEvaluator();
+    /**
+     * The printed text of this board, created by the first {@link #print()} and updated with every changed field.
+     */
+    private BoardRendering rendering;
 
     /**
      * Instantiates a new {@link ArithmeticScrabbleBoard} with the {@link #BOARD_SIZE}.
      */
     public ArithmeticScrabbleBoard() {
-        board = new Token[BOARD_SIZE][BOARD_SIZE];
+        this(BOARD_SIZE);
     }
 
-    private ArithmeticScrabbleBoard(final Token[][] board) {
-        this.board = board;
+    /**
+     * Instantiates a new {@link ArithmeticScrabbleBoard} with the given size.
+     *
+     * @param size the number of rows and columns of the board
+     *
+     * @throws GameException occurs if the given size is not positive
+     */
+    public ArithmeticScrabbleBoard(final int size) throws GameException {
+        cells = createStorage(size);
+        owners = new Player[Cell.MAXIMUM_SEATS];
+        rowEvaluations = new LineEvaluation[size];
+        columnEvaluations = new LineEvaluation[size];
+        dirtyRows = new BitSet();
+        dirtyColumns = new BitSet();
+        crossCoverages = new BitSet[size];
+        appliedColumnCoverages = new BitSet[size];
+        staleRows = new BitSet();
+        staleColumns = new BitSet();
+        uncoveredRows = new BitSet();
+        seatScores = new int[Cell.MAXIMUM_SEATS];
+        ledger = new ScoreLedger(size);
     }
 
     /**
-     * Checks whether or not the given tokens are part of at least one of the given expressions.
-     *
-     * @param tokens the tokens to check
-     * @param results the expressions
+     * Instantiates a new {@link ArithmeticScrabbleBoard} as a copy of the given board.
      *
-     * @return whether or not all given tokens are part of at least one of the expressions
+     * @param board the board to copy
      */
-    private static boolean containsAllTokens(final Collection<Token> tokens, final Collection<Expression> results) {
-        for (final Token token : tokens) {
-            boolean tokenInResult = false;
-            for (final Expression result : results) {
-                if (result.containsToken(token)) {
-                    tokenInResult = true;
-                }
-            }
-            if (!tokenInResult) {
-                // this token is not part in the result, thus it is invalid
-                return false;
+    private ArithmeticScrabbleBoard(final ArithmeticScrabbleBoard board) {
+        cells = board.cells.copy();
+        owners = board.owners.clone();
+        // line evaluations and applied coverages are immutable and can be shared
+        rowEvaluations = board.rowEvaluations.clone();
+        columnEvaluations = board.columnEvaluations.clone();
+        dirtyRows = (BitSet) board.dirtyRows.clone();
+        dirtyColumns = (BitSet) board.dirtyColumns.clone();
+        crossCoverages = new BitSet[board.crossCoverages.length];
+        for (int row = 0; row < crossCoverages.length; row++) {
+            if (board.crossCoverages[row] != null) {
+                crossCoverages[row] = (BitSet) board.crossCoverages[row].clone();
             }
         }
-        return true;
+        appliedColumnCoverages = board.appliedColumnCoverages.clone();
+        staleRows = (BitSet) board.staleRows.clone();
+        staleColumns = (BitSet) board.staleColumns.clone();
+        uncoveredRows = (BitSet) board.uncoveredRows.clone();
+        seatScores = board.seatScores.clone();
+        ledger = new ScoreLedger(board.ledger);
+        hash = board.hash;
+    }
+
+    private static CellStorage createStorage(final int size) throws GameException {
+        if (size < 1) {
+            throw new GameException("invalid board size " + size);
+        }
+        return size <= PackedCellStorage.MAXIMUM_SIZE
+                ? new PackedCellStorage(size)
+                : new ChunkedCellStorage(size);
+    }
+
+    private boolean isInside(final int row, final int column) {
+        return row >= 0 && row < cells.getSize() && column >= 0 && column < cells.getSize();
+    }
+
+    /**
+     * Returns the fields of this board, which must not be changed.
+     *
+     * @return the storage of the fields
+     */
+    CellStorage getCells() {
+        return cells;
+    }
+
+    /**
+     * Returns the scores and expressions of this board as of the last {@link #commit()}.
+     *
+     * @return the ledger of this board
+     */
+    ScoreLedger getLedger() {
+        return ledger;
+    }
+
+    @Override public long getHash() {
+        return hash;
+    }
+
+    @Override public int getSize() {
+        return cells.getSize();
     }
 
     @Override public boolean add(final int row, final int column, final Token token) {
-        if (!(row >= 0 && row < board.length && column >= 0 && column < board[0].length)) {
+        if (!isInside(row, column)) {
             return false;
         }
-        if (board[row][column] != null) {
+        if (cells.get(row, column) != Cell.EMPTY) {
             return false;
         }
         addToBoard(row, column, token);
@@ -73,96 +208,380 @@ public class ArithmeticScrabbleBoard implements GameBoard {
     }
 
     @Override public ArithmeticScrabbleBoard cloneBoard() {
-        // System.arraycopy keeps references and a manual array copy is necessary
-        final Token[][] clonedBoard = new Token[board.length][board[0].length];
-        for (int row = 0; row < board.length; row++) {
-            for (int column = 0; column < board[row].length; column++) {
-                clonedBoard[row][column] = board[row][column];
+        // the clone starts with an empty journal
+        return new ArithmeticScrabbleBoard(this);
+    }
+
+    @Override public Token remove(final int row, final int column) {
+        final Token token = get(row, column);
+        if (token != null) {
+            setCell(row, column, Cell.EMPTY);
+        }
+        return token;
+    }
+
+    @Override public void commit() {
+        if (journal.size() > 0) {
+            // the changed lines are evaluated once, so the ledger records the expressions of the committed state
+            updateEvaluations();
+            for (int entry = 0; entry < journal.size(); entry++) {
+                final int row = journal.getRow(entry);
+                final int column = journal.getColumn(entry);
+                ledger.record(Orientation.HORIZONTAL, row, rowEvaluations[row]);
+                ledger.record(Orientation.VERTICAL, column, columnEvaluations[column]);
             }
         }
-        return new ArithmeticScrabbleBoard(clonedBoard);
+        journal.clear();
+    }
+
+    @Override public void rollback() {
+        // revert in reverse order so every field and line ends up in the state before the first change
+        for (int entry = journal.size() - 1; entry >= 0; entry--) {
+            final int row = journal.getRow(entry);
+            final int column = journal.getColumn(entry);
+            changeCell(row, column, journal.getPreviousCell(entry));
+            restoreEvaluation(Orientation.HORIZONTAL, row, journal.getPreviousRowEvaluation(entry));
+            restoreEvaluation(Orientation.VERTICAL, column, journal.getPreviousColumnEvaluation(entry));
+        }
+        journal.clear();
+    }
+
+    private void restoreEvaluation(final Orientation orientation, final int line, final LineEvaluation evaluation) {
+        setEvaluation(orientation, line, evaluation);
+        // a missing evaluation may belong to a dirty line, so it is evaluated again to be safe
+        getDirtyLines(orientation).set(line, evaluation == null);
+    }
+
+    private void addToBoard(final int row, final int column, final Token token) {
+        final byte cell = Cell.encode(token.getTokenType(), token.getPlayer());
+        owners[Cell.seat(cell)] = token.getPlayer();
+        setCell(row, column, cell);
     }
 
     /**
-     * @return a collection of all tokens placed on this board
+     * Changes the given field and records the change in the journal.
+     *
+     * @param row the row of the field
+     * @param column the column of the field
+     * @param cell the new encoded content of the field
      */
-    private Collection<Token> getPlacedTokens() {
-        final Collection<Token> placedTokens = new ArrayList<>();
-        for (final Token[] row : board) {
-            for (final Token token : row) {
-                if (token != null) {
-                    placedTokens.add(token);
-                }
+    private void setCell(final int row, final int column, final byte cell) {
+        journal.record(row, column, cells.get(row, column), rowEvaluations[row], columnEvaluations[column]);
+        changeCell(row, column, cell);
+        // only the row and the column of the changed field can contain changed expressions
+        setEvaluation(Orientation.HORIZONTAL, row, null);
+        setEvaluation(Orientation.VERTICAL, column, null);
+        dirtyRows.set(row);
+        dirtyColumns.set(column);
+    }
+
+    /**
+     * Changes the given field and updates the hash of this board.
+     *
+     * @param row the row of the field
+     * @param column the column of the field
+     * @param cell the new encoded content of the field
+     */
+    private void changeCell(final int row, final int column, final byte cell) {
+        hash ^= getFieldKey(row, column, cells.get(row, column)) ^ getFieldKey(row, column, cell);
+        cells.set(row, column, cell);
+        if (rendering != null) {
+            rendering.set(row, column, cell);
+        }
+    }
+
+    private long getFieldKey(final int row, final int column, final byte cell) {
+        // empty fields do not contribute to the hash, so the hash of an empty board is zero
+        return cell == Cell.EMPTY
+                ? 0
+                : Zobrist.key(Zobrist.FIELD, (long) row * cells.getSize() + column, cell);
+    }
+
+    /**
+     * Replaces the cached evaluation of the given line and marks its coverage as stale.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the line
+     * @param evaluation the new evaluation, null for empty or dirty lines
+     */
+    private void setEvaluation(final Orientation orientation, final int line, final LineEvaluation evaluation) {
+        if (orientation == Orientation.HORIZONTAL) {
+            addScores(rowEvaluations[line], -1);
+            rowEvaluations[line] = evaluation;
+            staleRows.set(line);
+        } else {
+            addScores(columnEvaluations[line], -1);
+            columnEvaluations[line] = evaluation;
+            staleColumns.set(line);
+        }
+        addScores(evaluation, 1);
+    }
+
+    /**
+     * Adds the scores of the given evaluation to {@link #seatScores}.
+     *
+     * @param evaluation the evaluation of a line, may be null
+     * @param sign 1 to add the scores, -1 to subtract them
+     */
+    private void addScores(final LineEvaluation evaluation, final int sign) {
+        if (evaluation != null) {
+            for (final ExpressionResult result : evaluation.getResults()) {
+                seatScores[Cell.seatOf(result.getPlayer())] += sign * result.getScore();
             }
         }
-        return placedTokens;
     }
 
-    private void addToBoard(final int row, final int column, final Token token) {
-        board[row][column] = token;
+    private BitSet getDirtyLines(final Orientation orientation) {
+        return orientation == Orientation.HORIZONTAL
+                ? dirtyRows
+                : dirtyColumns;
+    }
+
+    @Override public int nextOccupiedLine(final Orientation orientation, final int from) {
+        return cells.nextOccupiedLine(orientation, from);
+    }
+
+    @Override public int nextOccupied(final Orientation orientation, final int line, final int from) {
+        return cells.nextOccupied(orientation, line, from);
     }
 
     @Override public Token get(final int row, final int column) {
-        if (row < 0 || row > BOARD_SIZE - 1 || column < 0 || column > BOARD_SIZE - 1) {
+        if (!isInside(row, column)) {
             return null;
         }
-        return board[row][column];
+        final byte cell = cells.get(row, column);
+        if (cell == Cell.EMPTY) {
+            return null;
+        }
+        return owners[Cell.seat(cell)].getToken(Cell.tokenType(cell));
     }
 
     @Override public GameResult evaluate() {
-        final Collection<Expression> results = new ArrayList<>();
-        // search all rows for expressions and evaluate them
-        for (final Orientation orientation : Orientation.values()) {
-            searchDirection(results, orientation);
-        }
-        if (!containsAllTokens(getPlacedTokens(), results)) {
+        updateEvaluations();
+        if (!uncoveredRows.isEmpty()) {
             throw new GameException("all tokens have to be part of an expression!");
         }
-        return new GameResult(results.stream().map(Expression::evaluate).collect(Collectors.toList()), true);
+        // the running totals already contain the scores of all expressions, so they are not collected again
+        final Collection<ExpressionResult> results = new ArrayList<>();
+        for (int seat = 0; seat < owners.length; seat++) {
+            if (owners[seat] != null) {
+                results.add(new ExpressionResult(owners[seat], seatScores[seat], true));
+            }
+        }
+        return new GameResult(results, true);
+    }
+
+    @Override public int getScore(final Player player) {
+        updateEvaluations();
+        return seatScores[Cell.seatOf(player)];
+    }
+
+    @Override public Collection<int[]> getUncoveredFields() {
+        updateEvaluations();
+        final Collection<int[]> fields = new ArrayList<>();
+        for (int row = uncoveredRows.nextSetBit(0); row >= 0; row = uncoveredRows.nextSetBit(row + 1)) {
+            final BitSet columns = getUncoveredColumns(row);
+            for (int column = columns.nextSetBit(0); column >= 0; column = columns.nextSetBit(column + 1)) {
+                fields.add(new int[] {row, column});
+            }
+        }
+        return fields;
+    }
+
+    @Override public boolean isCovered(final Orientation orientation, final int row, final int column) {
+        if (!isInside(row, column)) {
+            return false;
+        }
+        updateEvaluations();
+        return orientation == Orientation.HORIZONTAL
+                ? rowEvaluations[row] != null && rowEvaluations[row].getCovered().get(column)
+                : columnEvaluations[column] != null && columnEvaluations[column].getCovered().get(row);
+    }
+
+    /**
+     * Evaluates all dirty lines and updates the coverage of all rows whose coverage might have changed.
+     */
+    private void updateEvaluations() {
+        updateLineEvaluations(Orientation.HORIZONTAL);
+        updateLineEvaluations(Orientation.VERTICAL);
+        updateCrossCoverages();
+        for (int row = staleRows.nextSetBit(0); row >= 0; row = staleRows.nextSetBit(row + 1)) {
+            uncoveredRows.set(row, rowEvaluations[row] != null && !getUncoveredColumns(row).isEmpty());
+        }
+        staleRows.clear();
+    }
+
+    /**
+     * Evaluates all lines of the given orientation whose cached evaluation has been invalidated.
+     *
+     * @param orientation the orientation of the lines
+     */
+    private void updateLineEvaluations(final Orientation orientation) {
+        final BitSet dirtyLines = getDirtyLines(orientation);
+        for (int line = dirtyLines.nextSetBit(0); line >= 0; line = dirtyLines.nextSetBit(line + 1)) {
+            setEvaluation(orientation, line, evaluateLine(orientation, line));
+        }
+        dirtyLines.clear();
+    }
+
+    /**
+     * Transfers the coverage of all stale columns to {@link #crossCoverages}. Only the rows whose coverage changed
+     * are visited and marked as stale.
+     */
+    private void updateCrossCoverages() {
+        for (int column = staleColumns.nextSetBit(0); column >= 0; column = staleColumns.nextSetBit(column + 1)) {
+            final BitSet coverage = columnEvaluations[column] == null
+                    ? null
+                    : columnEvaluations[column].getCovered();
+            final BitSet changedRows = appliedColumnCoverages[column] == null
+                    ? new BitSet()
+                    : (BitSet) appliedColumnCoverages[column].clone();
+            if (coverage != null) {
+                changedRows.xor(coverage);
+            }
+            for (int row = changedRows.nextSetBit(0); row >= 0; row = changedRows.nextSetBit(row + 1)) {
+                if (crossCoverages[row] == null) {
+                    crossCoverages[row] = new BitSet();
+                }
+                crossCoverages[row].flip(column);
+                staleRows.set(row);
+            }
+            appliedColumnCoverages[column] = coverage;
+        }
+        staleColumns.clear();
+    }
+
+    /**
+     * Returns the columns of the given row containing tokens which are neither covered by the row nor by their column.
+     *
+     * @param row the index of the row
+     *
+     * @return the uncovered columns of the given row
+     */
+    private BitSet getUncoveredColumns(final int row) {
+        final BitSet columns = (BitSet) rowEvaluations[row].getUncovered().clone();
+        if (crossCoverages[row] != null) {
+            columns.andNot(crossCoverages[row]);
+        }
+        return columns;
     }
 
-    private void searchDirection(final Collection<Expression> results, final Orientation orientation) {
-        for (int row = 0; row < board.length; row++) {
-            for (int column = 0; column < board[row].length; column++) {
-                growExpressionFromField(results, orientation, row, column);
+    /**
+     * Searches the given line for valid expressions. Every expression starts at an occupied field and grows till
+     * the end of the consecutive tokens, so only the runs of occupied fields of the line have to be visited.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the row for {@link Orientation#HORIZONTAL} and of the column otherwise
+     *
+     * @return the evaluation of the given line, null if the line is empty
+     */
+    private LineEvaluation evaluateLine(final Orientation orientation, final int line) {
+        int start = cells.nextOccupied(orientation, line, 0);
+        if (start < 0) {
+            return null;
+        }
+        EngineMetrics.getShared().countLineEvaluation();
+        final Collection<ExpressionResult> results = new ArrayList<>();
+        final BitSet covered = new BitSet();
+        final BitSet occupied = new BitSet();
+        while (start >= 0) {
+            final int end = cells.nextEmpty(orientation, line, start);
+            occupied.set(start, end);
+            final int[] expressions = evaluateRun(readRun(orientation, line, start, end));
+            for (int index = 0; index < expressions.length; index += LineEvaluationCache.RESULT_WIDTH) {
+                results.add(new ExpressionResult(owners[expressions[index + 2]], expressions[index + 1], true));
+            }
+            if (expressions.length > 0) {
+                // the first expression is the longest one and covers all other ones
+                covered.set(start + expressions[0], end);
             }
+            start = cells.nextOccupied(orientation, line, end);
+        }
+        return new LineEvaluation(results, covered, occupied);
+    }
+
+    private PackedRun readRun(final Orientation orientation, final int line, final int start, final int end) {
+        final byte[] run = new byte[end - start];
+        for (int position = start; position < end; position++) {
+            run[position - start] = orientation == Orientation.HORIZONTAL
+                    ? cells.get(line, position)
+                    : cells.get(position, line);
         }
+        return new PackedRun(run);
     }
 
-    private void growExpressionFromField(final Collection<Expression> results, final Orientation orientation,
-            final int row, final int column) {
-        if (board[row][column] != null) {
-            final Expression expression = new Expression();
-            growExpression(orientation, row, column, expression);
-            if (expression.isValid()) {
-                results.add(expression);
+    /**
+     * Evaluates all expressions of the given run, which start at a token of the run and end with the run. Uses the
+     * shared {@link LineEvaluationCache} for runs which have already been evaluated by any board.
+     *
+     * @param run the run of consecutive tokens
+     *
+     * @return the valid expressions of the run in the format of the {@link LineEvaluationCache}
+     */
+    private int[] evaluateRun(final PackedRun run) {
+        final LineEvaluationCache cache = LineEvaluationCache.getShared();
+        final int[] cachedExpressions = cache.get(run);
+        if (cachedExpressions != null) {
+            return cachedExpressions;
+        }
+        final int[] expressions = new int[run.length() * LineEvaluationCache.RESULT_WIDTH];
+        int expressionIndex = 0;
+        for (int start = 0; start < run.length(); start++) {
+            if (evaluateExpression(run, start)) {
+                expressions[expressionIndex++] = start;
+                expressions[expressionIndex++] = evaluator.getValue();
+                expressions[expressionIndex++] = evaluator.getOwner();
             }
         }
+        EngineMetrics.getShared().countExpressions(run.length(), expressionIndex / LineEvaluationCache.RESULT_WIDTH);
+        final int[] result = Arrays.copyOf(expressions, expressionIndex);
+        cache.put(run, result);
+        return result;
     }
 
-    private void growExpression(final Orientation orientation, final int row, final int column,
-            final Expression expression) {
-        int tempRow = row;
-        int tempCol = column;
-        while (tempRow < board.length && tempCol < board[tempRow].length && board[tempRow][tempCol] != null) {
-            expression.addToken(board[tempRow][tempCol]);
-            tempRow += orientation.getDirectionalDifference()[0];
-            tempCol += orientation.getDirectionalDifference()[1];
+    /**
+     * Evaluates the expression of the given run from the given start till its end with {@link #evaluator}.
+     *
+     * @param run the run of consecutive tokens
+     * @param start the position of the first token of the expression
+     *
+     * @return whether or not the expression is valid
+     */
+    private boolean evaluateExpression(final PackedRun run, final int start) {
+        evaluator.reset();
+        for (int position = start; position < run.length(); position++) {
+            final byte cell = run.get(position);
+            if (!evaluator.push(Cell.tokenType(cell), Cell.seat(cell))) {
+                return false;
+            }
         }
+        return evaluator.isValid();
     }
 
     @Override public String print() {
-        final StringJoiner output = new StringJoiner(Main.LINE_SEPARATOR);
-        for (final Token[] row : board) {
-            final StringBuilder rowBuilder = new StringBuilder();
-            for (final Token token : row) {
-                rowBuilder.append(token != null
-                        ? token.getTokenType().getStringPattern()
-                        : Main.EMPTY_TOKEN_STRING);
-            }
-            output.add(rowBuilder.toString());
+        return getRendering().toString();
+    }
+
+    /**
+     * Writes the text of {@link #print()} to the given writer without creating a String, every row preceded by the
+     * given prefix.
+     *
+     * @param output the writer
+     * @param linePrefix the prefix of every row
+     *
+     * @return the number of rows written
+     *
+     * @throws IOException occurs if the writer fails
+     */
+    public int print(final Writer output, final String linePrefix) throws IOException {
+        return getRendering().writeTo(output, linePrefix);
+    }
+
+    private BoardRendering getRendering() {
+        if (rendering == null) {
+            rendering = new BoardRendering(cells);
         }
-        return output.toString();
+        return rendering;
     }
 
     @Override public String toString() {
@@ -7,6 +7,8 @@ import edu.kit.informatik.scrabble.entity.Orientation;
 import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.entity.Token;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 
 /**
@@ -28,6 +30,21 @@ public interface ArithmeticScrabbleGame extends Executable {
      */
     String place(int row, int column, Orientation orientation, Token... token);
 
+    /**
+     * Reverts the last placement which has not been reverted yet. The tokens are returned to the bag of the player
+     * who placed them and this player becomes the active player again.
+     *
+     * @return a String containing whether or not the placement could be reverted
+     */
+    String undo();
+
+    /**
+     * Places the tokens of the last placement reverted by {@link #undo()} again.
+     *
+     * @return a String containing whether or not the placement could be restored
+     */
+    String redo();
+
     /**
      * Finishes the game and calculates the results.
      *
@@ -44,6 +61,15 @@ public interface ArithmeticScrabbleGame extends Executable {
      */
     ExpressionResult score(Player player);
 
+    /**
+     * Returns the player of this game with the given index.
+     *
+     * @param index the index of the player
+     *
+     * @return the player with the given index, null if this game has no such player
+     */
+    Player getPlayer(int index);
+
     /**
      * Returns the tokens for the given player.
      *
@@ -59,4 +85,17 @@ public interface ArithmeticScrabbleGame extends Executable {
      * @return the String representation for this game
      */
     String print();
+
+    /**
+     * Writes the String representation of {@link #print()} to the given writer, every line preceded by the given
+     * prefix. The last line is not followed by a line separator.
+     *
+     * @param output the writer
+     * @param linePrefix the prefix of every line
+     *
+     * @return the number of lines written
+     *
+     * @throws IOException occurs if the writer fails
+     */
+    int print(Writer output, String linePrefix) throws IOException;
 }
@@ -0,0 +1,102 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * The text of a board as printed by {@link GameBoard#print()}, which is kept up to date field by field. The rows are
+ * stored in a single character array separated by {@link Main#LINE_SEPARATOR}, so a changed field only replaces one
+ * character and printing copies the array once.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class BoardRendering {
+    private static final char[] TOKEN_CHARACTERS = createTokenCharacters();
+    private final int rowLength;
+    private final char[] text;
+
+    /**
+     * Instantiates a new {@link BoardRendering} of the given fields. Only the occupied fields are visited.
+     *
+     * @param cells the fields of the board
+     *
+     * @throws GameException occurs if the text of the board exceeds the maximum length of an array
+     */
+    BoardRendering(final CellStorage cells) throws GameException {
+        final int size = cells.getSize();
+        final int separatorLength = Main.LINE_SEPARATOR.length();
+        final long length = (long) size * (size + separatorLength) - separatorLength;
+        if (length > Integer.MAX_VALUE - Long.BYTES) {
+            throw new GameException("board of size " + size + " is too large to be printed");
+        }
+        rowLength = size + separatorLength;
+        text = new char[(int) length];
+        Arrays.fill(text, Main.EMPTY_TOKEN_STRING);
+        for (int row = 1; row < size; row++) {
+            Main.LINE_SEPARATOR.getChars(0, separatorLength, text, row * rowLength - separatorLength);
+        }
+        for (int row = cells.nextOccupiedLine(Orientation.HORIZONTAL, 0); row >= 0;
+             row = cells.nextOccupiedLine(Orientation.HORIZONTAL, row + 1)) {
+            for (int column = cells.nextOccupied(Orientation.HORIZONTAL, row, 0); column >= 0;
+                 column = cells.nextOccupied(Orientation.HORIZONTAL, row, column + 1)) {
+                set(row, column, cells.get(row, column));
+            }
+        }
+    }
+
+    private static char[] createTokenCharacters() {
+        final TokenType[] tokenTypes = TokenType.values();
+        final char[] characters = new char[tokenTypes.length];
+        for (final TokenType tokenType : tokenTypes) {
+            characters[tokenType.ordinal()] = tokenType.getStringPattern().charAt(0);
+        }
+        return characters;
+    }
+
+    /**
+     * Replaces the character of the given field.
+     *
+     * @param row the row of the field
+     * @param column the column of the field
+     * @param cell the new content of the field
+     */
+    void set(final int row, final int column, final byte cell) {
+        text[row * rowLength + column] = cell == Cell.EMPTY
+                ? Main.EMPTY_TOKEN_STRING
+                : TOKEN_CHARACTERS[Cell.tokenType(cell).ordinal()];
+    }
+
+    /**
+     * Writes the text of the board to the given writer without creating a String, every row preceded by the given
+     * prefix. The last row is not followed by {@link Main#LINE_SEPARATOR}.
+     *
+     * @param output the writer
+     * @param linePrefix the prefix of every row
+     *
+     * @return the number of rows written
+     *
+     * @throws IOException occurs if the writer fails
+     */
+    int writeTo(final Writer output, final String linePrefix) throws IOException {
+        int rows = 0;
+        for (int start = 0; start < text.length; start += rowLength) {
+            output.write(linePrefix);
+            output.write(text, start, Math.min(rowLength, text.length - start));
+            rows++;
+        }
+        return rows;
+    }
+
+    @Override public String toString() {
+        return new String(text);
+    }
+}
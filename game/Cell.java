@@ -0,0 +1,104 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.TokenType;
+
+/**
+ * Encodes the content of a board field as a single byte. The lower four bits contain the ordinal of the
+ * {@link TokenType} increased by one, the upper four bits contain the seat of the owning {@link Player}, which is
+ * its index decreased by one. An empty field is encoded as {@link #EMPTY}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class Cell {
+    /**
+     * The encoding of an empty field.
+     */
+    static final byte EMPTY = 0;
+    /**
+     * The maximum number of seats that can be encoded.
+     */
+    static final int MAXIMUM_SEATS = 16;
+    private static final int TYPE_MASK = 0x0F;
+    private static final int SEAT_SHIFT = 4;
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private Cell() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Encodes the given token type and player to a field.
+     *
+     * @param tokenType the type of the token placed on the field
+     * @param player the owner of the token placed on the field
+     *
+     * @return the encoded field
+     *
+     * @throws GameException occurs if the index of the player cannot be encoded
+     */
+    static byte encode(final TokenType tokenType, final Player player) throws GameException {
+        final int seat = seatOf(player);
+        return (byte) ((seat << SEAT_SHIFT) | (tokenType.ordinal() + 1));
+    }
+
+    /**
+     * Returns the seat of the given player, which is its index decreased by one.
+     *
+     * @param player the player
+     *
+     * @return the seat of the player
+     *
+     * @throws GameException occurs if the index of the player cannot be encoded
+     */
+    static int seatOf(final Player player) throws GameException {
+        final int seat = player.getIndex() - 1;
+        if (seat < 0 || seat >= MAXIMUM_SEATS) {
+            throw new GameException("player " + player + " cannot be placed on a board");
+        }
+        return seat;
+    }
+
+    /**
+     * Returns whether or not the given byte is the encoding of an occupied field.
+     *
+     * @param cell the byte
+     *
+     * @return whether or not the byte encodes a token type and a seat
+     */
+    static boolean isOccupied(final byte cell) {
+        final int type = cell & TYPE_MASK;
+        return type > 0 && type <= TOKEN_TYPES.length;
+    }
+
+    /**
+     * Returns the token type of the given field.
+     *
+     * @param cell an encoded field which is not empty
+     *
+     * @return the token type of the field
+     */
+    static TokenType tokenType(final byte cell) {
+        return TOKEN_TYPES[(cell & TYPE_MASK) - 1];
+    }
+
+    /**
+     * Returns the seat of the owner of the given field.
+     *
+     * @param cell an encoded field which is not empty
+     *
+     * @return the seat of the owner of the field
+     */
+    static int seat(final byte cell) {
+        return (cell >>> SEAT_SHIFT) & TYPE_MASK;
+    }
+}
@@ -0,0 +1,80 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+
+/**
+ * Encapsulates the storage of the encoded fields of a square {@link ArithmeticScrabbleBoard} as described in
+ * {@link Cell}. Positions are always inside the board, a line is a row for {@link Orientation#HORIZONTAL} and a column
+ * for {@link Orientation#VERTICAL}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+interface CellStorage {
+    /**
+     * The number of rows and columns of this storage.
+     *
+     * @return the size of this storage
+     */
+    int getSize();
+
+    /**
+     * Returns the encoded field at the given position.
+     *
+     * @param row the row of the field
+     * @param column the column of the field
+     *
+     * @return the encoded field, {@link Cell#EMPTY} if no token is placed there
+     */
+    byte get(int row, int column);
+
+    /**
+     * Sets the encoded field at the given position.
+     *
+     * @param row the row of the field
+     * @param column the column of the field
+     * @param cell the encoded field, {@link Cell#EMPTY} to clear the field
+     */
+    void set(int row, int column, byte cell);
+
+    /**
+     * Returns the first occupied position of the given line starting at the given position.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the line
+     * @param from the first position to check
+     *
+     * @return the first occupied position which is not smaller than from, -1 if there is none
+     */
+    int nextOccupied(Orientation orientation, int line, int from);
+
+    /**
+     * Returns the first empty position of the given line starting at the given position.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the line
+     * @param from the first position to check
+     *
+     * @return the first empty position which is not smaller than from, {@link #getSize()} if there is none
+     */
+    int nextEmpty(Orientation orientation, int line, int from);
+
+    /**
+     * Returns the first line of the given orientation containing a token starting at the given line.
+     *
+     * @param orientation the orientation of the lines
+     * @param from the first line to check
+     *
+     * @return the first occupied line which is not smaller than from, -1 if there is none
+     */
+    int nextOccupiedLine(Orientation orientation, int from);
+
+    /**
+     * Copies this storage.
+     *
+     * @return a storage with the same fields which does not share any data with this one
+     */
+    CellStorage copy();
+}
@@ -0,0 +1,89 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import java.util.Arrays;
+
+/**
+ * Records the tentative changes of an {@link ArithmeticScrabbleBoard} so they can be reverted in reverse order.
+ * Every entry contains the changed field, its previous content and the cached evaluations of its row and column
+ * before the change.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ChangeJournal {
+    private static final int INITIAL_CAPACITY = 8;
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] columns = new int[INITIAL_CAPACITY];
+    private byte[] previousCells = new byte[INITIAL_CAPACITY];
+    private LineEvaluation[] previousRowEvaluations = new LineEvaluation[INITIAL_CAPACITY];
+    private LineEvaluation[] previousColumnEvaluations = new LineEvaluation[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Records a change of the given field.
+     *
+     * @param row the row of the changed field
+     * @param column the column of the changed field
+     * @param previousCell the encoded content of the field before the change
+     * @param previousRowEvaluation the cached evaluation of the row before the change
+     * @param previousColumnEvaluation the cached evaluation of the column before the change
+     */
+    void record(final int row, final int column, final byte previousCell, final LineEvaluation previousRowEvaluation,
+            final LineEvaluation previousColumnEvaluation) {
+        if (size == rows.length) {
+            final int capacity = size * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            previousCells = Arrays.copyOf(previousCells, capacity);
+            previousRowEvaluations = Arrays.copyOf(previousRowEvaluations, capacity);
+            previousColumnEvaluations = Arrays.copyOf(previousColumnEvaluations, capacity);
+        }
+        rows[size] = row;
+        columns[size] = column;
+        previousCells[size] = previousCell;
+        previousRowEvaluations[size] = previousRowEvaluation;
+        previousColumnEvaluations[size] = previousColumnEvaluation;
+        size++;
+    }
+
+    /**
+     * The number of recorded changes.
+     *
+     * @return the number of changes recorded since the last call of {@link #clear()}
+     */
+    int size() {
+        return size;
+    }
+
+    int getRow(final int entry) {
+        return rows[entry];
+    }
+
+    int getColumn(final int entry) {
+        return columns[entry];
+    }
+
+    byte getPreviousCell(final int entry) {
+        return previousCells[entry];
+    }
+
+    LineEvaluation getPreviousRowEvaluation(final int entry) {
+        return previousRowEvaluations[entry];
+    }
+
+    LineEvaluation getPreviousColumnEvaluation(final int entry) {
+        return previousColumnEvaluations[entry];
+    }
+
+    /**
+     * Removes all recorded changes.
+     */
+    void clear() {
+        // release the evaluations so they can be collected
+        Arrays.fill(previousRowEvaluations, 0, size, null);
+        Arrays.fill(previousColumnEvaluations, 0, size, null);
+        size = 0;
+    }
+}
@@ -0,0 +1,148 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sparse {@link CellStorage} for large boards. The fields are split into square chunks of {@link #CHUNK_SIZE} fields
+ * which are only allocated when a token is placed in them for the first time, the occupied positions are kept per
+ * occupied line. Thus the memory needed grows with the number of placed tokens instead of the area of the board.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ChunkedCellStorage implements CellStorage {
+    /**
+     * The number of rows and columns of a chunk.
+     */
+    static final int CHUNK_SIZE = 1 << 5;
+    private static final int CHUNK_SHIFT = 5;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private final int size;
+    private final Map<Long, byte[]> chunks;
+    private final Map<Integer, BitSet> rowOccupancies;
+    private final Map<Integer, BitSet> columnOccupancies;
+    private final BitSet occupiedRows;
+    private final BitSet occupiedColumns;
+
+    /**
+     * Instantiates a new empty {@link ChunkedCellStorage} with the given size.
+     *
+     * @param size the number of rows and columns
+     */
+    ChunkedCellStorage(final int size) {
+        this(size, new HashMap<>(), new HashMap<>(), new HashMap<>(), new BitSet(), new BitSet());
+    }
+
+    private ChunkedCellStorage(final int size, final Map<Long, byte[]> chunks,
+            final Map<Integer, BitSet> rowOccupancies, final Map<Integer, BitSet> columnOccupancies,
+            final BitSet occupiedRows, final BitSet occupiedColumns) {
+        this.size = size;
+        this.chunks = chunks;
+        this.rowOccupancies = rowOccupancies;
+        this.columnOccupancies = columnOccupancies;
+        this.occupiedRows = occupiedRows;
+        this.occupiedColumns = occupiedColumns;
+    }
+
+    private static long getChunkKey(final int row, final int column) {
+        return ((long) (row >>> CHUNK_SHIFT) << Integer.SIZE) | (column >>> CHUNK_SHIFT);
+    }
+
+    private static int getChunkIndex(final int row, final int column) {
+        return ((row & CHUNK_MASK) << CHUNK_SHIFT) | (column & CHUNK_MASK);
+    }
+
+    private static Map<Integer, BitSet> copyOccupancies(final Map<Integer, BitSet> occupancies) {
+        final Map<Integer, BitSet> copy = new HashMap<>(occupancies.size() * 2);
+        occupancies.forEach((line, occupancy) -> copy.put(line, (BitSet) occupancy.clone()));
+        return copy;
+    }
+
+    private static void updateOccupancy(final Map<Integer, BitSet> occupancies, final BitSet occupiedLines,
+            final int line, final int position, final boolean occupied) {
+        if (occupied) {
+            occupancies.computeIfAbsent(line, key -> new BitSet()).set(position);
+            occupiedLines.set(line);
+            return;
+        }
+        final BitSet occupancy = occupancies.get(line);
+        if (occupancy != null) {
+            occupancy.clear(position);
+            if (occupancy.isEmpty()) {
+                occupancies.remove(line);
+                occupiedLines.clear(line);
+            }
+        }
+    }
+
+    @Override public int getSize() {
+        return size;
+    }
+
+    @Override public byte get(final int row, final int column) {
+        final byte[] chunk = chunks.get(getChunkKey(row, column));
+        return chunk == null
+                ? Cell.EMPTY
+                : chunk[getChunkIndex(row, column)];
+    }
+
+    @Override public void set(final int row, final int column, final byte cell) {
+        final boolean occupied = cell != Cell.EMPTY;
+        final byte[] chunk = occupied
+                ? chunks.computeIfAbsent(getChunkKey(row, column), key -> new byte[CHUNK_SIZE * CHUNK_SIZE])
+                : chunks.get(getChunkKey(row, column));
+        if (chunk == null) {
+            return;
+        }
+        // emptied chunks are kept since tokens are only removed when reverting placements
+        chunk[getChunkIndex(row, column)] = cell;
+        updateOccupancy(rowOccupancies, occupiedRows, row, column, occupied);
+        updateOccupancy(columnOccupancies, occupiedColumns, column, row, occupied);
+    }
+
+    @Override public int nextOccupied(final Orientation orientation, final int line, final int from) {
+        final BitSet occupancy = getOccupancies(orientation).get(line);
+        if (occupancy == null) {
+            return -1;
+        }
+        final int position = occupancy.nextSetBit(from);
+        return position >= size
+                ? -1
+                : position;
+    }
+
+    @Override public int nextEmpty(final Orientation orientation, final int line, final int from) {
+        final BitSet occupancy = getOccupancies(orientation).get(line);
+        if (occupancy == null) {
+            return Math.min(from, size);
+        }
+        return Math.min(occupancy.nextClearBit(from), size);
+    }
+
+    @Override public int nextOccupiedLine(final Orientation orientation, final int from) {
+        final BitSet occupiedLines = orientation == Orientation.HORIZONTAL
+                ? occupiedRows
+                : occupiedColumns;
+        return occupiedLines.nextSetBit(from);
+    }
+
+    @Override public ChunkedCellStorage copy() {
+        final Map<Long, byte[]> copiedChunks = new HashMap<>(chunks.size() * 2);
+        chunks.forEach((key, chunk) -> copiedChunks.put(key, chunk.clone()));
+        return new ChunkedCellStorage(size, copiedChunks, copyOccupancies(rowOccupancies),
+                                      copyOccupancies(columnOccupancies), (BitSet) occupiedRows.clone(),
+                                      (BitSet) occupiedColumns.clone());
+    }
+
+    private Map<Integer, BitSet> getOccupancies(final Orientation orientation) {
+        return orientation == Orientation.HORIZONTAL
+                ? rowOccupancies
+                : columnOccupancies;
+    }
+}
@@ -3,8 +3,12 @@
 
 package edu.kit.informatik.scrabble.game;
 
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.entity.Token;
 
+import java.util.Collection;
+
 /**
  * Encapsulates the functionality of a game board.
  *
@@ -13,7 +17,44 @@ import edu.kit.informatik.scrabble.entity.Token;
  */
 public interface GameBoard {
     /**
-     * Adds the given token at the given position on this board.
+     * Returns the number of rows and columns of this board.
+     *
+     * @return the size of this board
+     */
+    int getSize();
+
+    /**
+     * Returns the Zobrist hash of the tokens on this board, which is updated with every change of a field. Boards
+     * of equal size with equal tokens on equal fields have equal hashes, regardless of the order of placement.
+     *
+     * @return the hash of the fields of this board
+     */
+    long getHash();
+
+    /**
+     * Returns the first line of the given orientation containing a token starting at the given line.
+     *
+     * @param orientation the orientation of the lines
+     * @param from the first line to check
+     *
+     * @return the first occupied line which is not smaller than from, -1 if there is none
+     */
+    int nextOccupiedLine(Orientation orientation, int from);
+
+    /**
+     * Returns the first occupied position of the given line starting at the given position.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the line
+     * @param from the first position to check
+     *
+     * @return the first occupied position which is not smaller than from, -1 if there is none
+     */
+    int nextOccupied(Orientation orientation, int line, int from);
+
+    /**
+     * Adds the given token at the given position on this board. The change is tentative until {@link #commit()} is
+     * called and can be reverted with {@link #rollback()}.
      *
      * @param row the row index where to add the token
      * @param column the column index where to add the token
@@ -23,6 +64,28 @@ public interface GameBoard {
      */
     boolean add(int row, int column, Token token);
 
+    /**
+     * Removes the token placed on the given position from this board. The change is tentative until
+     * {@link #commit()} is called and can be reverted with {@link #rollback()}.
+     *
+     * @param row the row index where to remove the token
+     * @param column the column index where to remove the token
+     *
+     * @return the removed token, null if there was no token at the given position
+     */
+    Token remove(int row, int column);
+
+    /**
+     * Accepts all changes made since the last call of {@link #commit()} or {@link #rollback()}.
+     */
+    void commit();
+
+    /**
+     * Reverts all changes made since the last call of {@link #commit()} or {@link #rollback()}. Takes time
+     * proportional to the number of changes reverted.
+     */
+    void rollback();
+
     /**
      * Clones this board and returns a board with the same tokens placed on it but with different internal data
      * structures.
@@ -48,6 +111,36 @@ public interface GameBoard {
      */
     GameResult evaluate();
 
+    /**
+     * Calculates the sum of the scores of all valid expressions owned by the given player. Unlike
+     * {@link #evaluate()} this does not check whether all tokens are part of an expression.
+     *
+     * @param player the player
+     *
+     * @return the score of the given player on this board
+     */
+    int getScore(Player player);
+
+    /**
+     * Returns the fields containing tokens which are not part of any valid expression, which makes
+     * {@link #evaluate()} fail.
+     *
+     * @return the fields of the uncovered tokens as integer arrays with two elements containing {row,column}
+     */
+    Collection<int[]> getUncoveredFields();
+
+    /**
+     * Returns whether or not the token on the given field is part of a valid expression of its row for
+     * {@link Orientation#HORIZONTAL} or of its column otherwise.
+     *
+     * @param orientation the orientation of the line of the expression
+     * @param row the row index
+     * @param column the column index
+     *
+     * @return whether or not the token on the given field is covered by its line, false for empty fields
+     */
+    boolean isCovered(Orientation orientation, int row, int column);
+
     /**
      * Calculates the String representation of this board as described in the assignment.
      *
@@ -0,0 +1,50 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+/**
+ * Observes the successful changes of an {@link ArithmeticScrabble}. Failed commands are not observed, so replaying
+ * the observed changes in order on the initial state of a game restores its current state. All events are ignored by
+ * default.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface GameObserver {
+    /**
+     * The observer ignoring all events.
+     */
+    GameObserver NONE = new GameObserver() { };
+
+    /**
+     * Called after the given move has been placed.
+     *
+     * @param move the placed move
+     */
+    default void placed(final Move move) {
+    }
+
+    /**
+     * Called after the most recent placement has been undone.
+     */
+    default void undone() {
+    }
+
+    /**
+     * Called after the most recently undone placement has been placed again.
+     */
+    default void redone() {
+    }
+
+    /**
+     * Called after the game has been ended.
+     */
+    default void ended() {
+    }
+
+    /**
+     * Called after the game has been quit.
+     */
+    default void quit() {
+    }
+}
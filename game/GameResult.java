@@ -5,15 +5,11 @@ import edu.kit.informatik.scrabble.entity.ExpressionResult;
 import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.ui.Main;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
 import java.util.StringJoiner;
-import java.util.TreeSet;
+import java.util.TreeMap;
 
 /**
  * Encapsulates the result of an arithmetic scrabble game. Use {@link #getPlayerResult(Player)} and
@@ -30,6 +26,8 @@ public class GameResult {
     public static final int EMPTY_RESULT = 0;
     private final Collection<ExpressionResult> results;
     private final boolean isValid;
+    private final Collection<Player> players;
+    private Collection<ExpressionResult> playerResults;
 
     /**
      * Instantiates a new {@link GameResult} with the given parameters. Does not evaluate them. Use
@@ -39,42 +37,33 @@ public class GameResult {
      * @param isValid whether or not this {@link GameResult} is valid
      */
     public GameResult(final Collection<ExpressionResult> results, final boolean isValid) {
-        this.results = results;
-        this.isValid = isValid;
+        this(results, isValid, Collections.emptyList());
     }
 
     /**
-     * Fills the given map with empty {@link ExpressionResult} for all players that have no score.
-     *
-     * @param maximum the maximum(included) to which the given map is filled with {@link #EMPTY_RESULT}
-     * @param resultMap the map containing the results as a mapping from the id to the {@link ExpressionResult}
-     *         for a
-     *         player
+     * Instantiates a new {@link GameResult} with the given parameters, which contains results for the given players
+     * even if they do not own any expression.
      *
-     * @return the filled map as a collection
+     * @param results the collection of {@link ExpressionResult} containing the expression evaluations
+     * @param isValid whether or not this {@link GameResult} is valid
+     * @param players the players of the game
      */
-    private static Collection<ExpressionResult> fillMapToMaximum(final int maximum,
-            final Map<Integer, ExpressionResult> resultMap) {
-        for (int index = 0; index <= maximum; index++) {
-            if (!resultMap.containsKey(index)) {
-                if (Player.getPlayer(index) != null) {
-                    resultMap.put(index, new ExpressionResult(Player.getPlayer(index), EMPTY_RESULT, true));
-                }
-            }
-        }
-        return new TreeSet<>(resultMap.values());
+    public GameResult(final Collection<ExpressionResult> results, final boolean isValid,
+            final Collection<Player> players) {
+        this.results = results;
+        this.isValid = isValid;
+        this.players = players;
     }
 
     /**
-     * Calculates the score for the given {@link Player} and returns it. If no player is found, returns null.
+     * Returns the result of the given {@link Player}. If no player is found, returns null.
      *
      * @param player a player which participated in this {@link ArithmeticScrabble}
      *
      * @return the score of the given player
      */
     public ExpressionResult getPlayerResult(final Player player) {
-        final Collection<ExpressionResult> results = getResult();
-        for (final ExpressionResult result : results) {
+        for (final ExpressionResult result : getResult()) {
             if (result.getPlayer().equals(player)) {
                 return result;
             }
@@ -83,42 +72,50 @@ public class GameResult {
     }
 
     /**
-     * Calculates the Scores for all players and returns them as a collection.
+     * Returns the scores of all players ordered by their index. The scores are calculated on the first call only.
      *
-     * @return a Collection with the results for all players
+     * @return an unmodifiable collection with the results for all players
      */
     public Collection<ExpressionResult> getResult() {
-        final Map<Integer, ExpressionResult> collectedResults = new HashMap<>();
-        for (final ExpressionResult result : results) {
-            if (result != null && result.isValid() && result.getPlayer() != null) {
-                if (!collectedResults.containsKey(result.getPlayer().getIndex())) {
-                    collectedResults.put(result.getPlayer().getIndex(), result);
-                } else {
-                    collectedResults.get(result.getPlayer().getIndex()).addScore(result);
+        if (playerResults == null) {
+            final Map<Integer, ExpressionResult> collectedResults = new TreeMap<>();
+            for (final ExpressionResult result : results) {
+                if (result != null && result.isValid() && result.getPlayer() != null) {
+                    final ExpressionResult collectedResult = collectedResults.get(result.getPlayer().getIndex());
+                    if (collectedResult == null) {
+                        // copy the result as the given results may be cached by the board and must not be changed
+                        collectedResults.put(result.getPlayer().getIndex(),
+                                new ExpressionResult(result.getPlayer(), result.getScore(), true));
+                    } else {
+                        collectedResult.addScore(result);
+                    }
                 }
             }
-
+            for (final Player player : players) {
+                collectedResults.putIfAbsent(player.getIndex(), new ExpressionResult(player, EMPTY_RESULT, true));
+            }
+            playerResults = Collections.unmodifiableCollection(collectedResults.values());
         }
-        return fillMapToMaximum(Player.getHighestPlayerIndex(), collectedResults);
+        return playerResults;
     }
 
     @Override public String toString() {
-        final Collection<ExpressionResult> playerScores = getResult();
         final StringJoiner output = new StringJoiner(Main.LINE_SEPARATOR);
-        playerScores.forEach(result -> output.add(String.valueOf(result.getScore())));
-        // add the player representation as the last line of the output
-        final List<ExpressionResult> sortedResults = new ArrayList<>(playerScores);
-        sortedResults.sort(Comparator.comparing(ExpressionResult::getScore).reversed());
-        if (sortedResults.size() > 1) {
-            final Iterator<ExpressionResult> iterator = sortedResults.iterator();
-            if (iterator.next().getScore() == iterator.next().getScore()) {
-                output.add(Main.DRAW);
-            } else {
-                output.add(sortedResults.iterator().next().getPlayer().toString() + Main.COMMAND_SEPARATOR + Main.WINS);
+        ExpressionResult winner = null;
+        boolean isDraw = false;
+        for (final ExpressionResult result : getResult()) {
+            output.add(String.valueOf(result.getScore()));
+            if (winner == null || result.getScore() > winner.getScore()) {
+                winner = result;
+                isDraw = false;
+            } else if (result.getScore() == winner.getScore()) {
+                isDraw = true;
             }
-        } else {
-            output.add(sortedResults.iterator().next().getPlayer().toString() + Main.COMMAND_SEPARATOR + Main.WINS);
         }
+        // add the player representation as the last line of the output, a result without players has no winner
+        output.add(isDraw || winner == null
+                ? Main.DRAW
+                : winner.getPlayer().toString() + Main.COMMAND_SEPARATOR + Main.WINS);
         return output.toString();
     }
 
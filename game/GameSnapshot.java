@@ -0,0 +1,390 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary format of the state of an {@link ArithmeticScrabble}. A snapshot contains the board, the bag of
+ * every player, the active player and whether or not the game has ended or has been quit. The placements which could
+ * be undone or redone are not part of a snapshot. Numbers are written as unsigned variable length integers with seven
+ * bits per byte, least significant group first. A snapshot consists of
+ * <ul>
+ *     <li>the version {@value #VERSION} and a byte of flags containing {@link #ENDED} and {@link #QUIT},</li>
+ *     <li>the size of the board, the number of players and the index of the active player,</li>
+ *     <li>for every player the number of tokens of every {@link TokenType} in the bag in the order of the types,</li>
+ *     <li>the number of occupied fields and the layout of the fields followed by the fields encoded as described in
+ *     {@link Cell}. The {@link #DENSE} layout contains all fields row by row, the {@link #SPARSE} layout contains the
+ *     occupied fields, each preceded by the number of fields skipped since the previous occupied field.</li>
+ * </ul>
+ * The smaller layout is chosen, so a snapshot of a game on the default board takes about a hundred bytes.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class GameSnapshot {
+    /**
+     * The version of the format written by this class.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * The flag of a game which has ended.
+     */
+    static final int ENDED = 1;
+    /**
+     * The flag of a game which has been quit.
+     */
+    static final int QUIT = 1 << 1;
+    /**
+     * The layout containing only the occupied fields.
+     */
+    static final byte SPARSE = 0;
+    /**
+     * The layout containing all fields.
+     */
+    static final byte DENSE = 1;
+    private static final int VARIABLE_LENGTH_BITS = 7;
+    private static final int VARIABLE_LENGTH_MASK = (1 << VARIABLE_LENGTH_BITS) - 1;
+    private static final int CONTINUATION = 1 << VARIABLE_LENGTH_BITS;
+    /**
+     * The maximum number of bytes of a number written by {@link #writeNumber(ByteBuffer, long)}.
+     */
+    static final int MAXIMUM_VARIABLE_LENGTH = 10;
+    private static final int HEADER_LENGTH = 2;
+    /**
+     * The maximum size of the board of a decoded snapshot, which bounds the memory allocated for a snapshot.
+     */
+    static final int MAXIMUM_SIZE = 1 << 16;
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private GameSnapshot() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Encodes the given game to a new array.
+     *
+     * @param game the game
+     *
+     * @return the snapshot of the game
+     */
+    public static byte[] encode(final ArithmeticScrabble game) {
+        final ByteBuffer buffer = ByteBuffer.allocate(getMaximumLength(game));
+        encode(game, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Returns the maximum number of bytes of a snapshot of the given game, which can be used to allocate a buffer
+     * for {@link #encode(ArithmeticScrabble, ByteBuffer)}.
+     *
+     * @param game the game
+     *
+     * @return the maximum length of the snapshot of the game
+     */
+    public static int getMaximumLength(final ArithmeticScrabble game) {
+        final int size = game.getBoard().getSize();
+        final long bags = (long) game.getPlayers().length * TOKEN_TYPES.length * MAXIMUM_VARIABLE_LENGTH;
+        final long fields = Math.min((long) size * size, (long) countOccupied(game.getBoard().getCells())
+                                                         * (MAXIMUM_VARIABLE_LENGTH + 1));
+        return (int) Math.min(Integer.MAX_VALUE, HEADER_LENGTH + 4L * MAXIMUM_VARIABLE_LENGTH + 1 + bags + fields);
+    }
+
+    /**
+     * Encodes the given game to the given buffer starting at its position. The position is moved behind the
+     * snapshot.
+     *
+     * @param game the game
+     * @param buffer the buffer with at least {@link #getMaximumLength(ArithmeticScrabble)} remaining bytes
+     */
+    public static void encode(final ArithmeticScrabble game, final ByteBuffer buffer) {
+        final Player[] players = game.getPlayers();
+        final CellStorage cells = game.getBoard().getCells();
+        buffer.put(VERSION);
+        buffer.put((byte) ((game.hasEnded() ? ENDED : 0) | (game.isActive() ? 0 : QUIT)));
+        writeNumber(buffer, cells.getSize());
+        writeNumber(buffer, players.length);
+        writeNumber(buffer, game.getActivePlayerIndex());
+        for (final Player player : players) {
+            for (final TokenType type : TOKEN_TYPES) {
+                writeNumber(buffer, player.getTokenCount(type));
+            }
+        }
+        final int occupied = countOccupied(cells);
+        writeNumber(buffer, occupied);
+        if (getSparseLength(cells) < (long) cells.getSize() * cells.getSize()) {
+            buffer.put(SPARSE);
+            writeSparse(cells, buffer);
+        } else {
+            buffer.put(DENSE);
+            for (int row = 0; row < cells.getSize(); row++) {
+                for (int column = 0; column < cells.getSize(); column++) {
+                    buffer.put(cells.get(row, column));
+                }
+            }
+        }
+    }
+
+    private static int countOccupied(final CellStorage cells) {
+        int occupied = 0;
+        for (int row = cells.nextOccupiedLine(Orientation.HORIZONTAL, 0); row >= 0;
+             row = cells.nextOccupiedLine(Orientation.HORIZONTAL, row + 1)) {
+            for (int column = cells.nextOccupied(Orientation.HORIZONTAL, row, 0); column >= 0;
+                 column = cells.nextOccupied(Orientation.HORIZONTAL, row, column + 1)) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
+    private static long getSparseLength(final CellStorage cells) {
+        long length = 0;
+        long previous = -1;
+        for (int row = cells.nextOccupiedLine(Orientation.HORIZONTAL, 0); row >= 0;
+             row = cells.nextOccupiedLine(Orientation.HORIZONTAL, row + 1)) {
+            for (int column = cells.nextOccupied(Orientation.HORIZONTAL, row, 0); column >= 0;
+                 column = cells.nextOccupied(Orientation.HORIZONTAL, row, column + 1)) {
+                final long position = (long) row * cells.getSize() + column;
+                length += getNumberLength(position - previous - 1) + 1;
+                previous = position;
+            }
+        }
+        return length;
+    }
+
+    private static void writeSparse(final CellStorage cells, final ByteBuffer buffer) {
+        long previous = -1;
+        for (int row = cells.nextOccupiedLine(Orientation.HORIZONTAL, 0); row >= 0;
+             row = cells.nextOccupiedLine(Orientation.HORIZONTAL, row + 1)) {
+            for (int column = cells.nextOccupied(Orientation.HORIZONTAL, row, 0); column >= 0;
+                 column = cells.nextOccupied(Orientation.HORIZONTAL, row, column + 1)) {
+                final long position = (long) row * cells.getSize() + column;
+                writeNumber(buffer, position - previous - 1);
+                buffer.put(cells.get(row, column));
+                previous = position;
+            }
+        }
+    }
+
+    /**
+     * Decodes the given snapshot to a new game.
+     *
+     * @param snapshot the snapshot
+     *
+     * @return the decoded game
+     *
+     * @throws GameException occurs if the snapshot is malformed or has another version
+     */
+    public static ArithmeticScrabble decode(final byte[] snapshot) throws GameException {
+        final ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        final ArithmeticScrabble game = decode(buffer);
+        if (buffer.hasRemaining()) {
+            throw new GameException("snapshot contains " + buffer.remaining() + " additional bytes");
+        }
+        return game;
+    }
+
+    /**
+     * Decodes the snapshot at the position of the given buffer to a new game. The position is moved behind the
+     * snapshot.
+     *
+     * @param buffer the buffer containing the snapshot
+     *
+     * @return the decoded game
+     *
+     * @throws GameException occurs if the snapshot is malformed or has another version
+     */
+    public static ArithmeticScrabble decode(final ByteBuffer buffer) throws GameException {
+        try {
+            final byte version = buffer.get();
+            if (version != VERSION) {
+                throw new GameException("unsupported snapshot version " + version);
+            }
+            final int flags = buffer.get();
+            final int size = readInt(buffer);
+            final int playerCount = readInt(buffer);
+            final int activePlayerIndex = readInt(buffer);
+            if (size < 1 || size > MAXIMUM_SIZE) {
+                throw new GameException("invalid board size " + size);
+            }
+            if (playerCount < Main.MINIMUM_PLAYERS || playerCount > Main.MAXIMUM_PLAYERS) {
+                throw new GameException("invalid number of players " + playerCount);
+            }
+            // every number takes at least one byte, so nothing is allocated for a truncated snapshot
+            if (buffer.remaining() < playerCount * TOKEN_TYPES.length + 2) {
+                throw new GameException("snapshot is truncated");
+            }
+            final int[][] tokenCounts = new int[playerCount][TOKEN_TYPES.length];
+            for (final int[] counts : tokenCounts) {
+                for (int type = 0; type < counts.length; type++) {
+                    counts[type] = readInt(buffer);
+                }
+            }
+            final int occupied = readInt(buffer);
+            final byte layout = buffer.get();
+            checkFieldsLength(buffer, size, occupied, layout);
+            final String[] bags = new String[playerCount];
+            Arrays.fill(bags, "");
+            final ArithmeticScrabble game = new ArithmeticScrabble(bags, size);
+            final Player[] players = game.getPlayers();
+            for (int player = 0; player < playerCount; player++) {
+                for (final TokenType type : TOKEN_TYPES) {
+                    players[player].addTokens(type, tokenCounts[player][type.ordinal()]);
+                }
+            }
+            readFields(buffer, game, occupied, layout);
+            game.restore(activePlayerIndex, (flags & ENDED) != 0, (flags & QUIT) == 0);
+            return game;
+        } catch (final BufferUnderflowException exception) {
+            throw new GameException("snapshot is truncated");
+        }
+    }
+
+    /**
+     * Checks that the fields of the given layout fit into the remaining bytes of the buffer before the board is
+     * allocated.
+     *
+     * @param buffer the buffer positioned at the first field
+     * @param size the size of the board
+     * @param occupied the number of occupied fields
+     * @param layout the layout of the fields
+     *
+     * @throws GameException occurs if the fields cannot fit into the buffer or onto the board
+     */
+    private static void checkFieldsLength(final ByteBuffer buffer, final int size, final int occupied,
+            final byte layout) throws GameException {
+        if (occupied > (long) size * size) {
+            throw new GameException("invalid number of occupied fields " + occupied);
+        }
+        // a dense field takes one byte, a sparse field its cell and at least one byte of the skipped fields
+        final long length = layout == DENSE ? (long) size * size : 2L * occupied;
+        if (buffer.remaining() < length) {
+            throw new GameException("snapshot is truncated");
+        }
+    }
+
+    private static void readFields(final ByteBuffer buffer, final ArithmeticScrabble game, final int occupied,
+            final byte layout) throws GameException {
+        final ArithmeticScrabbleBoard board = game.getBoard();
+        final Player[] players = game.getPlayers();
+        final int size = board.getSize();
+        if (layout == DENSE) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    final byte cell = buffer.get();
+                    if (cell != Cell.EMPTY) {
+                        addField(board, players, row, column, cell);
+                    }
+                }
+            }
+        } else if (layout == SPARSE) {
+            long position = -1;
+            for (int field = 0; field < occupied; field++) {
+                position += readLong(buffer) + 1;
+                if (position < 0 || position >= (long) size * size) {
+                    throw new GameException("field " + position + " is outside of the board");
+                }
+                addField(board, players, (int) (position / size), (int) (position % size), buffer.get());
+            }
+        } else {
+            throw new GameException("unknown layout " + layout);
+        }
+        board.commit();
+    }
+
+    private static void addField(final ArithmeticScrabbleBoard board, final Player[] players, final int row,
+            final int column, final byte cell) throws GameException {
+        if (!Cell.isOccupied(cell) || Cell.seat(cell) >= players.length) {
+            throw new GameException("invalid field " + cell + " at " + row + " " + column);
+        }
+        if (!board.add(row, column, players[Cell.seat(cell)].getToken(Cell.tokenType(cell)))) {
+            throw new GameException("field " + row + " " + column + " is occupied twice");
+        }
+    }
+
+    private static int getNumberLength(final long number) {
+        int length = 1;
+        for (long rest = number >>> VARIABLE_LENGTH_BITS; rest != 0; rest >>>= VARIABLE_LENGTH_BITS) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the given non-negative number with a variable length.
+     *
+     * @param buffer the buffer
+     * @param number the number
+     */
+    static void writeNumber(final ByteBuffer buffer, final long number) {
+        long rest = number;
+        while ((rest & ~VARIABLE_LENGTH_MASK) != 0) {
+            buffer.put((byte) ((rest & VARIABLE_LENGTH_MASK) | CONTINUATION));
+            rest >>>= VARIABLE_LENGTH_BITS;
+        }
+        buffer.put((byte) rest);
+    }
+
+    /**
+     * Returns whether or not the given byte of a number written by {@link #writeNumber(ByteBuffer, long)} is
+     * followed by another byte of the number.
+     *
+     * @param part the byte of the number
+     *
+     * @return whether or not the number continues
+     */
+    static boolean isContinued(final int part) {
+        return (part & CONTINUATION) != 0;
+    }
+
+    /**
+     * Reads a number written by {@link #writeNumber(ByteBuffer, long)}.
+     *
+     * @param buffer the buffer
+     *
+     * @return the number
+     *
+     * @throws GameException occurs if the number is longer than any number written
+     */
+    static long readLong(final ByteBuffer buffer) throws GameException {
+        long number = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARIABLE_LENGTH_BITS) {
+            final byte part = buffer.get();
+            number |= (long) (part & VARIABLE_LENGTH_MASK) << shift;
+            if ((part & CONTINUATION) == 0) {
+                return number;
+            }
+        }
+        throw new GameException("malformed number in snapshot");
+    }
+
+    /**
+     * Reads a number written by {@link #writeNumber(ByteBuffer, long)} which fits into an integer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the number
+     *
+     * @throws GameException occurs if the number does not fit into a non-negative integer
+     */
+    static int readInt(final ByteBuffer buffer) throws GameException {
+        final long number = readLong(buffer);
+        if (number < 0 || number > Integer.MAX_VALUE) {
+            throw new GameException("number " + number + " in snapshot is too large");
+        }
+        return (int) number;
+    }
+}
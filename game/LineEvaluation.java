@@ -0,0 +1,64 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.ExpressionResult;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Encapsulates the cached evaluation of a single row or column of an {@link ArithmeticScrabbleBoard}. Contains the
+ * results of all valid expressions found in the line and which positions of the line are covered by them.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class LineEvaluation {
+    private final Collection<ExpressionResult> results;
+    private final BitSet covered;
+    private final BitSet uncovered;
+
+    /**
+     * Instantiates a new {@link LineEvaluation} with the given parameters.
+     *
+     * @param results the results of all valid expressions of the line
+     * @param covered the positions of the line which are part of a valid expression
+     * @param occupied the positions of the line which are occupied by a token
+     */
+    LineEvaluation(final Collection<ExpressionResult> results, final BitSet covered, final BitSet occupied) {
+        this.results = Collections.unmodifiableCollection(results);
+        this.covered = covered;
+        uncovered = (BitSet) occupied.clone();
+        uncovered.andNot(covered);
+    }
+
+    /**
+     * The results of all valid expressions of this line.
+     *
+     * @return an unmodifiable collection of the expression results of this line
+     */
+    Collection<ExpressionResult> getResults() {
+        return results;
+    }
+
+    /**
+     * The positions of this line which are part of a valid expression. The returned set must not be changed.
+     *
+     * @return the covered positions of this line
+     */
+    BitSet getCovered() {
+        return covered;
+    }
+
+    /**
+     * The positions of this line which are occupied but not part of a valid expression of this line. The returned
+     * set must not be changed.
+     *
+     * @return the uncovered positions of this line
+     */
+    BitSet getUncovered() {
+        return uncovered;
+    }
+}
@@ -0,0 +1,195 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.GameException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache mapping runs of consecutive tokens to the valid expressions they contain, shared by all boards of
+ * the JVM. A result is stored as groups of three integers containing the start of the expression in the run, its
+ * value and the seat of its owner. The cache is split into independently locked segments which evict their least
+ * recently used entries once they are full.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class LineEvaluationCache {
+    /**
+     * The system property containing the maximum number of entries of the shared cache.
+     */
+    public static final String SIZE_PROPERTY = "scrabble.lineEvaluationCacheSize";
+    /**
+     * The default maximum number of entries of the shared cache.
+     */
+    public static final int DEFAULT_SIZE = 1 << 16;
+    /**
+     * The number of integers describing one expression of a cached result.
+     */
+    static final int RESULT_WIDTH = 3;
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    private static final LineEvaluationCache SHARED = new LineEvaluationCache(
+            Integer.getInteger(SIZE_PROPERTY, DEFAULT_SIZE));
+    private final List<Map<PackedRun, int[]>> segments;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Instantiates a new {@link LineEvaluationCache} with the given maximum number of entries. A size of zero
+     * disables the cache.
+     *
+     * @param maximumSize the maximum number of entries
+     *
+     * @throws GameException occurs if the given size is negative
+     */
+    public LineEvaluationCache(final int maximumSize) throws GameException {
+        if (maximumSize < 0) {
+            throw new GameException("invalid cache size " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        segments = new ArrayList<>(SEGMENT_COUNT);
+        final int segmentSize = (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+        for (int index = 0; index < SEGMENT_COUNT; index++) {
+            segments.add(new LinkedHashMap<PackedRun, int[]>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override protected boolean removeEldestEntry(final Map.Entry<PackedRun, int[]> eldest) {
+                    if (size() > segmentSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the cache shared by all boards. Its size is read from the system property {@link #SIZE_PROPERTY} and
+     * defaults to {@link #DEFAULT_SIZE}.
+     *
+     * @return the shared cache
+     */
+    public static LineEvaluationCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached result for the given run.
+     *
+     * @param run the run of tokens
+     *
+     * @return the cached result, null if the run is not cached
+     */
+    int[] get(final PackedRun run) {
+        final Map<PackedRun, int[]> segment = getSegment(run);
+        final int[] result;
+        synchronized (segment) {
+            result = segment.get(run);
+        }
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Stores the given result for the given run.
+     *
+     * @param run the run of tokens
+     * @param result the result for the run, which must not be changed afterwards
+     */
+    void put(final PackedRun run, final int[] result) {
+        if (maximumSize == 0) {
+            return;
+        }
+        final Map<PackedRun, int[]> segment = getSegment(run);
+        synchronized (segment) {
+            segment.put(run, result);
+        }
+    }
+
+    private Map<PackedRun, int[]> getSegment(final PackedRun run) {
+        // the segments use the lowest bits of the spread hash to choose a bucket, so choosing the segment by the same
+        // bits would leave most buckets of every segment empty, the highest bits of a multiplicative hash are used
+        return segments.get((run.hashCode() * HASH_MULTIPLIER) >>> (Integer.SIZE - SEGMENT_BITS));
+    }
+
+    /**
+     * The maximum number of entries of this cache.
+     *
+     * @return the maximum size of this cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * The current number of entries of this cache.
+     *
+     * @return the size of this cache
+     */
+    public int getSize() {
+        int size = 0;
+        for (final Map<PackedRun, int[]> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The number of lookups which found a cached result.
+     *
+     * @return the number of hits of this cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of lookups which did not find a cached result.
+     *
+     * @return the number of misses of this cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * The number of entries removed to stay within the maximum size.
+     *
+     * @return the number of evictions of this cache
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all entries of this cache. The counters are not reset.
+     */
+    public void clear() {
+        for (final Map<PackedRun, int[]> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override public String toString() {
+        return "size " + getSize() + "/" + maximumSize + ", hits " + getHits() + ", misses " + getMisses()
+               + ", evictions " + getEvictions();
+    }
+}
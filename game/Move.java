@@ -0,0 +1,98 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Token;
+
+import java.util.Arrays;
+
+/**
+ * Encapsulates a placement of tokens on a {@link GameBoard} starting at a position with an {@link Orientation}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class Move {
+    private final int row;
+    private final int column;
+    private final Orientation orientation;
+    private final Token[] tokens;
+
+    /**
+     * Instantiates a new {@link Move} with the given parameters.
+     *
+     * @param row the row the tokens placed start at
+     * @param column the column the tokens placed start at
+     * @param orientation the orientation of the tokens
+     * @param tokens the tokens placed in the given order
+     */
+    public Move(final int row, final int column, final Orientation orientation, final Token... tokens) {
+        this.row = row;
+        this.column = column;
+        this.orientation = orientation;
+        this.tokens = tokens.clone();
+    }
+
+    /**
+     * The row of the first token of this move.
+     *
+     * @return the row the tokens placed start at
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * The column of the first token of this move.
+     *
+     * @return the column the tokens placed start at
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * The orientation of this move.
+     *
+     * @return the orientation of the tokens
+     */
+    public Orientation getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * The tokens of this move.
+     *
+     * @return a copy of the tokens placed in the given order
+     */
+    public Token[] getTokens() {
+        return tokens.clone();
+    }
+
+    /**
+     * The row of the token with the given index of this move.
+     *
+     * @param index the index of the token
+     *
+     * @return the row the token with the given index is placed at
+     */
+    public int getRow(final int index) {
+        return row + index * orientation.getDirectionalDifference()[0];
+    }
+
+    /**
+     * The column of the token with the given index of this move.
+     *
+     * @param index the index of the token
+     *
+     * @return the column the token with the given index is placed at
+     */
+    public int getColumn(final int index) {
+        return column + index * orientation.getDirectionalDifference()[1];
+    }
+
+    @Override public String toString() {
+        return Arrays.toString(tokens) + " " + row + " " + column + " " + orientation;
+    }
+}
@@ -0,0 +1,99 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+
+/**
+ * Dense {@link CellStorage} for small boards. Stores all fields in a flat byte array in row-major order together with
+ * a bitmask of the occupied fields for every row and column, thus the size is limited to {@link #MAXIMUM_SIZE}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class PackedCellStorage implements CellStorage {
+    /**
+     * The maximum size of this storage, given by the number of bits of a line mask.
+     */
+    static final int MAXIMUM_SIZE = Long.SIZE;
+    private final int size;
+    private final byte[] cells;
+    private final long[] rowMasks;
+    private final long[] columnMasks;
+
+    /**
+     * Instantiates a new empty {@link PackedCellStorage} with the given size.
+     *
+     * @param size the number of rows and columns, at most {@link #MAXIMUM_SIZE}
+     */
+    PackedCellStorage(final int size) {
+        this(size, new byte[size * size], new long[size], new long[size]);
+    }
+
+    private PackedCellStorage(final int size, final byte[] cells, final long[] rowMasks, final long[] columnMasks) {
+        this.size = size;
+        this.cells = cells;
+        this.rowMasks = rowMasks;
+        this.columnMasks = columnMasks;
+    }
+
+    private static int nextSetBit(final long mask, final int from) {
+        if (from >= Long.SIZE) {
+            return -1;
+        }
+        final long remaining = mask & (-1L << from);
+        return remaining == 0
+                ? -1
+                : Long.numberOfTrailingZeros(remaining);
+    }
+
+    @Override public int getSize() {
+        return size;
+    }
+
+    @Override public byte get(final int row, final int column) {
+        return cells[row * size + column];
+    }
+
+    @Override public void set(final int row, final int column, final byte cell) {
+        cells[row * size + column] = cell;
+        if (cell == Cell.EMPTY) {
+            rowMasks[row] &= ~(1L << column);
+            columnMasks[column] &= ~(1L << row);
+        } else {
+            rowMasks[row] |= 1L << column;
+            columnMasks[column] |= 1L << row;
+        }
+    }
+
+    @Override public int nextOccupied(final Orientation orientation, final int line, final int from) {
+        return nextSetBit(getMasks(orientation)[line], from);
+    }
+
+    @Override public int nextEmpty(final Orientation orientation, final int line, final int from) {
+        final int position = nextSetBit(~getMasks(orientation)[line], from);
+        return position < 0
+                ? size
+                : Math.min(position, size);
+    }
+
+    @Override public int nextOccupiedLine(final Orientation orientation, final int from) {
+        final long[] masks = getMasks(orientation);
+        for (int line = from; line < size; line++) {
+            if (masks[line] != 0) {
+                return line;
+            }
+        }
+        return -1;
+    }
+
+    @Override public PackedCellStorage copy() {
+        return new PackedCellStorage(size, cells.clone(), rowMasks.clone(), columnMasks.clone());
+    }
+
+    private long[] getMasks(final Orientation orientation) {
+        return orientation == Orientation.HORIZONTAL
+                ? rowMasks
+                : columnMasks;
+    }
+}
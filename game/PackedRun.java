@@ -0,0 +1,62 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import java.util.Arrays;
+
+/**
+ * Encapsulates a run of consecutive encoded fields of a line as described in {@link Cell}. Used as key of the
+ * {@link LineEvaluationCache}, thus the fields must not be changed after the run has been created.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class PackedRun {
+    private final byte[] cells;
+    private final int hash;
+
+    /**
+     * Instantiates a new {@link PackedRun} with the given fields.
+     *
+     * @param cells the encoded fields of the run which are not changed afterwards
+     */
+    PackedRun(final byte[] cells) {
+        this.cells = cells;
+        hash = Arrays.hashCode(cells);
+    }
+
+    /**
+     * The number of fields of this run.
+     *
+     * @return the length of this run
+     */
+    int length() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the encoded field at the given position of this run.
+     *
+     * @param position the position in this run
+     *
+     * @return the encoded field
+     */
+    byte get(final int position) {
+        return cells[position];
+    }
+
+    @Override public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackedRun)) {
+            return false;
+        }
+        final PackedRun run = (PackedRun) o;
+        return hash == run.hash && Arrays.equals(cells, run.cells);
+    }
+
+    @Override public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,112 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.entity.ExpressionResult;
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The scores of the committed state of an {@link ArithmeticScrabbleBoard}. Whenever changes of the board are
+ * committed, the expressions of every changed line are recorded and the totals of their owners are updated, so the
+ * scores and the expressions of the players are known without evaluating the board again.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class ScoreLedger {
+    private final LineEvaluation[] rows;
+    private final LineEvaluation[] columns;
+    /**
+     * The sum of the scores of all recorded expressions indexed by the seat of the players.
+     */
+    private final int[] seatScores;
+
+    /**
+     * Instantiates a new empty {@link ScoreLedger} for a board of the given size.
+     *
+     * @param size the number of rows and columns of the board
+     */
+    ScoreLedger(final int size) {
+        rows = new LineEvaluation[size];
+        columns = new LineEvaluation[size];
+        seatScores = new int[Cell.MAXIMUM_SEATS];
+    }
+
+    /**
+     * Instantiates a new {@link ScoreLedger} as a copy of the given ledger.
+     *
+     * @param ledger the ledger to copy
+     */
+    ScoreLedger(final ScoreLedger ledger) {
+        // line evaluations are immutable and can be shared
+        rows = ledger.rows.clone();
+        columns = ledger.columns.clone();
+        seatScores = ledger.seatScores.clone();
+    }
+
+    /**
+     * Records the committed evaluation of the given line. Nothing changes if the line has not been evaluated again.
+     *
+     * @param orientation the orientation of the line
+     * @param line the index of the row for {@link Orientation#HORIZONTAL} and of the column otherwise
+     * @param evaluation the committed evaluation of the line, null for an empty line
+     */
+    void record(final Orientation orientation, final int line, final LineEvaluation evaluation) {
+        final LineEvaluation[] lines = orientation == Orientation.HORIZONTAL
+                ? rows
+                : columns;
+        if (lines[line] == evaluation) {
+            return;
+        }
+        addScores(lines[line], -1);
+        addScores(evaluation, 1);
+        lines[line] = evaluation;
+    }
+
+    private void addScores(final LineEvaluation evaluation, final int sign) {
+        if (evaluation != null) {
+            for (final ExpressionResult result : evaluation.getResults()) {
+                seatScores[Cell.seatOf(result.getPlayer())] += sign * result.getScore();
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the scores of all expressions owned by the given player.
+     *
+     * @param player the player
+     *
+     * @return the committed score of the player
+     */
+    int getScore(final Player player) {
+        return seatScores[Cell.seatOf(player)];
+    }
+
+    /**
+     * Collects the expressions owned by the given player, which takes time proportional to the number of lines.
+     *
+     * @param player the player
+     *
+     * @return the committed expressions of the player
+     */
+    Collection<ExpressionResult> getExpressions(final Player player) {
+        final Collection<ExpressionResult> expressions = new ArrayList<>();
+        for (final LineEvaluation[] lines : new LineEvaluation[][] {rows, columns}) {
+            for (final LineEvaluation evaluation : lines) {
+                if (evaluation == null) {
+                    continue;
+                }
+                for (final ExpressionResult result : evaluation.getResults()) {
+                    if (result.getPlayer().equals(player)) {
+                        expressions.add(result);
+                    }
+                }
+            }
+        }
+        return expressions;
+    }
+}
@@ -0,0 +1,147 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import edu.kit.informatik.scrabble.GameException;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the snapshots of a file written by a {@link SnapshotWriter} one after another, so files of any size can be
+ * read. A reader must not be shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class SnapshotReader implements Closeable {
+    private static final int HEADER_LENGTH = Integer.BYTES + 1;
+    private final InputStream input;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(GameSnapshot.MAXIMUM_VARIABLE_LENGTH);
+    private byte[] snapshot = new byte[SnapshotWriter.BUFFER_SIZE];
+    private int length;
+    private long count;
+
+    /**
+     * Opens the file with the given path and reads its header.
+     *
+     * @param path the path of the file
+     *
+     * @throws IOException occurs if the file cannot be read
+     * @throws GameException occurs if the file does not start with the header of a file of snapshots
+     */
+    public SnapshotReader(final Path path) throws IOException, GameException {
+        input = new BufferedInputStream(Files.newInputStream(path), SnapshotWriter.BUFFER_SIZE);
+        final byte[] header = new byte[HEADER_LENGTH];
+        try {
+            readFully(header, header.length);
+            final ByteBuffer buffer = ByteBuffer.wrap(header);
+            if (buffer.getInt() != SnapshotWriter.MAGIC) {
+                throw new GameException("no snapshot file " + path);
+            }
+            final byte version = buffer.get();
+            if (version != GameSnapshot.VERSION) {
+                throw new GameException("unsupported snapshot version " + version);
+            }
+        } catch (final GameException | IOException exception) {
+            input.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads the next snapshot without decoding it. It can be decoded by {@link #decode()}.
+     *
+     * @return whether or not there was another snapshot
+     *
+     * @throws IOException occurs if the file cannot be read or ends within a snapshot
+     */
+    public boolean next() throws IOException {
+        int part = input.read();
+        if (part < 0) {
+            return false;
+        }
+        lengthBuffer.clear();
+        lengthBuffer.put((byte) part);
+        while (GameSnapshot.isContinued(part)) {
+            if (!lengthBuffer.hasRemaining()) {
+                throw new IOException("malformed length of snapshot " + count);
+            }
+            part = input.read();
+            if (part < 0) {
+                throw new EOFException("file of snapshots ends within the length of snapshot " + count);
+            }
+            lengthBuffer.put((byte) part);
+        }
+        lengthBuffer.flip();
+        final long snapshotLength = GameSnapshot.readLong(lengthBuffer);
+        if (snapshotLength < 0 || snapshotLength > Integer.MAX_VALUE) {
+            throw new IOException("snapshot " + count + " is too long");
+        }
+        length = (int) snapshotLength;
+        if (snapshot.length < length) {
+            snapshot = new byte[length];
+        }
+        readFully(snapshot, length);
+        count++;
+        return true;
+    }
+
+    private void readFully(final byte[] target, final int bytes) throws IOException {
+        int read = 0;
+        while (read < bytes) {
+            final int chunk = input.read(target, read, bytes - read);
+            if (chunk < 0) {
+                throw new EOFException("file of snapshots ends within snapshot " + count);
+            }
+            read += chunk;
+        }
+    }
+
+    /**
+     * Decodes the snapshot read by the last call of {@link #next()}.
+     *
+     * @return the decoded game
+     *
+     * @throws GameException occurs if the snapshot is malformed
+     */
+    public ArithmeticScrabble decode() throws GameException {
+        final ByteBuffer buffer = ByteBuffer.wrap(snapshot, 0, length);
+        final ArithmeticScrabble game = GameSnapshot.decode(buffer);
+        if (buffer.hasRemaining()) {
+            throw new GameException("snapshot " + (count - 1) + " contains " + buffer.remaining()
+                                    + " additional bytes");
+        }
+        return game;
+    }
+
+    /**
+     * Returns a copy of the snapshot read by the last call of {@link #next()}.
+     *
+     * @return the encoded snapshot
+     */
+    public byte[] getSnapshot() {
+        final byte[] copy = new byte[length];
+        System.arraycopy(snapshot, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * The number of snapshots read.
+     *
+     * @return the number of snapshots
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override public void close() throws IOException {
+        input.close();
+    }
+}
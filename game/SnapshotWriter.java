@@ -0,0 +1,95 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes any number of {@link GameSnapshot}s to a file. The file starts with {@link #MAGIC} and the
+ * {@link GameSnapshot#VERSION}, followed by the snapshots, each preceded by its length as a variable length number.
+ * The file can be read by a {@link SnapshotReader}. A writer must not be shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class SnapshotWriter implements Closeable {
+    /**
+     * The first four bytes of a file of snapshots.
+     */
+    public static final int MAGIC = 0x41534E50;
+    /**
+     * The number of bytes buffered before they are written to the file.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final int LENGTH_PREFIX = 5;
+    private final OutputStream output;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long count;
+
+    /**
+     * Creates the file with the given path, replacing an existing file, and writes the header.
+     *
+     * @param path the path of the file
+     *
+     * @throws IOException occurs if the file cannot be written
+     */
+    public SnapshotWriter(final Path path) throws IOException {
+        output = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        buffer.putInt(MAGIC);
+        buffer.put(GameSnapshot.VERSION);
+        output.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Appends the snapshot of the given game.
+     *
+     * @param game the game
+     *
+     * @throws IOException occurs if the file cannot be written
+     */
+    public void write(final ArithmeticScrabble game) throws IOException {
+        final int maximumLength = GameSnapshot.getMaximumLength(game);
+        if (buffer.capacity() < maximumLength + LENGTH_PREFIX) {
+            buffer = ByteBuffer.allocate(maximumLength + LENGTH_PREFIX);
+        }
+        // the snapshot is encoded behind the longest prefix and the prefix is written right in front of it
+        buffer.clear();
+        buffer.position(LENGTH_PREFIX);
+        GameSnapshot.encode(game, buffer);
+        final int length = buffer.position() - LENGTH_PREFIX;
+        buffer.clear();
+        GameSnapshot.writeNumber(buffer, length);
+        final int prefixLength = buffer.position();
+        output.write(buffer.array(), 0, prefixLength);
+        output.write(buffer.array(), LENGTH_PREFIX, length);
+        count++;
+    }
+
+    /**
+     * The number of snapshots written.
+     *
+     * @return the number of snapshots
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Writes all buffered snapshots to the file.
+     *
+     * @throws IOException occurs if the file cannot be written
+     */
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override public void close() throws IOException {
+        output.close();
+    }
+}
@@ -0,0 +1,61 @@
+
+
+package edu.kit.informatik.scrabble.game;
+
+/**
+ * Calculates the random keys of Zobrist hashing. The hash of a state is the exclusive or of the keys of all its
+ * features, so it can be updated incrementally by toggling the keys of the changed features. The keys are derived
+ * from a fixed seed with the mixing function of SplitMix64 instead of being stored in tables, so boards of any size
+ * are supported and the hashes of equal states are equal in every run.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class Zobrist {
+    /**
+     * The domain of the keys of the fields of a board, indexed by field and valued by the encoded field.
+     */
+    public static final int FIELD = 1;
+    /**
+     * The domain of the keys of the player to move, indexed by its seat.
+     */
+    public static final int ACTIVE_SEAT = 2;
+    /**
+     * The domain of the keys of the bags, indexed by seat and token type and valued by the number of tokens.
+     */
+    public static final int BAG = 3;
+    /**
+     * The domain of the keys of the player a search rates positions for, indexed by its seat.
+     */
+    public static final int RATED_SEAT = 4;
+    private static final long SEED = 0x5DEECE66DL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private Zobrist() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Returns the key of the given feature.
+     *
+     * @param domain the kind of the feature, one of the constants of this class
+     * @param index the index of the feature within its domain
+     * @param value the value of the feature
+     *
+     * @return the key of the feature
+     */
+    public static long key(final int domain, final long index, final long value) {
+        return mix(mix(mix(SEED + domain * GOLDEN_GAMMA) + index * GOLDEN_GAMMA) + value * GOLDEN_GAMMA);
+    }
+
+    private static long mix(final long value) {
+        long mixed = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
@@ -0,0 +1,201 @@
+
+
+package edu.kit.informatik.scrabble.journal;
+
+import edu.kit.informatik.scrabble.GameException;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the records of a {@link MoveJournal} one after another. Reading stops at the end of the journal or at the
+ * first record which is incomplete or whose checksum does not match, which is the remainder of a write interrupted
+ * by a crash. A reader must not be shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class JournalReader implements Closeable {
+    /**
+     * The first four bytes of a journal.
+     */
+    static final int MAGIC = 0x41534A4C;
+    /**
+     * The version of the format of the journal, which follows {@link #MAGIC}.
+     */
+    static final byte VERSION = 2;
+    /**
+     * The number of bytes of the header of a journal.
+     */
+    static final int HEADER_LENGTH = Integer.BYTES + 1;
+    /**
+     * The number of bytes preceding the content of a record, which are its length and its checksum.
+     */
+    static final int RECORD_HEADER_LENGTH = 2 * Integer.BYTES;
+    /**
+     * The number of bytes of the type and the session at the start of the content of a record.
+     */
+    static final int CONTENT_HEADER_LENGTH = 1 + Long.BYTES;
+    /**
+     * The maximum number of bytes of the content of a record.
+     */
+    static final int MAXIMUM_CONTENT_LENGTH = 1 << 24;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final InputStream input;
+    private final CRC32 checksum = new CRC32();
+    private final byte[] recordHeader = new byte[RECORD_HEADER_LENGTH];
+    private byte[] content = new byte[BUFFER_SIZE];
+    private int contentLength;
+    private RecordType type;
+    private long session;
+    private long validLength = HEADER_LENGTH;
+    private long count;
+    private boolean truncated;
+
+    /**
+     * Opens the journal with the given path and reads its header.
+     *
+     * @param path the path of the journal
+     *
+     * @throws IOException occurs if the journal cannot be read
+     * @throws GameException occurs if the file does not start with the header of a journal
+     */
+    JournalReader(final Path path) throws IOException, GameException {
+        input = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        final byte[] header = new byte[HEADER_LENGTH];
+        try {
+            if (read(header, header.length) < header.length) {
+                throw new GameException("no journal " + path);
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(header);
+            if (buffer.getInt() != MAGIC) {
+                throw new GameException("no journal " + path);
+            }
+            final byte version = buffer.get();
+            if (version != VERSION) {
+                throw new GameException("unsupported journal version " + version);
+            }
+        } catch (final GameException | IOException exception) {
+            input.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return whether or not there was another valid record
+     *
+     * @throws IOException occurs if the journal cannot be read
+     */
+    boolean next() throws IOException {
+        final int headerRead = read(recordHeader, RECORD_HEADER_LENGTH);
+        if (headerRead < RECORD_HEADER_LENGTH) {
+            truncated = headerRead > 0;
+            return false;
+        }
+        final ByteBuffer header = ByteBuffer.wrap(recordHeader);
+        final int length = header.getInt();
+        final int expectedChecksum = header.getInt();
+        if (length < CONTENT_HEADER_LENGTH || length > MAXIMUM_CONTENT_LENGTH) {
+            truncated = true;
+            return false;
+        }
+        if (content.length < length) {
+            content = new byte[length];
+        }
+        if (read(content, length) < length) {
+            truncated = true;
+            return false;
+        }
+        checksum.reset();
+        checksum.update(content, 0, length);
+        type = RecordType.of(content[0]);
+        if ((int) checksum.getValue() != expectedChecksum || type == null) {
+            truncated = true;
+            return false;
+        }
+        session = ByteBuffer.wrap(content, 1, Long.BYTES).getLong();
+        contentLength = length;
+        validLength += RECORD_HEADER_LENGTH + length;
+        count++;
+        return true;
+    }
+
+    private int read(final byte[] target, final int bytes) throws IOException {
+        int read = 0;
+        while (read < bytes) {
+            final int chunk = input.read(target, read, bytes - read);
+            if (chunk < 0) {
+                break;
+            }
+            read += chunk;
+        }
+        return read;
+    }
+
+    /**
+     * The type of the current record.
+     *
+     * @return the record type
+     */
+    RecordType getType() {
+        return type;
+    }
+
+    /**
+     * The session of the game the current record belongs to.
+     *
+     * @return the session of the record
+     */
+    long getSession() {
+        return session;
+    }
+
+    /**
+     * Returns the content of the current record following its type and session, which is only valid until the next
+     * record is read.
+     *
+     * @return a buffer containing the payload of the record
+     */
+    ByteBuffer getPayload() {
+        return ByteBuffer.wrap(content, CONTENT_HEADER_LENGTH, contentLength - CONTENT_HEADER_LENGTH).slice();
+    }
+
+    /**
+     * The number of bytes from the start of the journal to the end of the last valid record.
+     *
+     * @return the length of the valid part of the journal
+     */
+    long getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * The number of valid records read.
+     *
+     * @return the number of records
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns whether or not reading stopped at an incomplete or damaged record instead of the end of the journal.
+     *
+     * @return whether or not the journal has a damaged tail
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,187 @@
+
+
+package edu.kit.informatik.scrabble.journal;
+
+import edu.kit.informatik.Terminal;
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.game.GameSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds the games recorded in a {@link MoveJournal}. Every game is restored from its snapshot and its changes
+ * are applied directly to the game without parsing any commands. Replaying stops at a damaged tail left by a crash,
+ * so the games are restored in the state of their last complete record.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class JournalReplay {
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+    private final Map<Long, ArithmeticScrabble> games = new HashMap<>();
+    private char[] tokenPatterns = new char[0];
+    private long records;
+    private long nextSession;
+    private boolean truncated;
+
+    private JournalReplay() {
+    }
+
+    /**
+     * Replays the journal with the given path.
+     *
+     * @param path the path of the journal
+     *
+     * @return the replay containing the restored games
+     *
+     * @throws IOException occurs if the journal cannot be read
+     * @throws GameException occurs if the journal is not valid or a recorded change cannot be applied
+     */
+    public static JournalReplay replay(final Path path) throws IOException, GameException {
+        final JournalReplay replay = new JournalReplay();
+        try (JournalReader reader = new JournalReader(path)) {
+            while (reader.next()) {
+                try {
+                    replay.apply(reader.getType(), reader.getSession(), reader.getPayload());
+                } catch (final GameException exception) {
+                    throw new GameException("record " + reader.getCount() + " of game " + reader.getSession()
+                                            + " cannot be replayed: " + exception.getMessage());
+                }
+            }
+            replay.records = reader.getCount();
+            replay.truncated = reader.isTruncated();
+        }
+        return replay;
+    }
+
+    private void apply(final RecordType type, final long session, final ByteBuffer payload) throws GameException {
+        if (type == RecordType.CHECKPOINT) {
+            nextSession = Math.max(nextSession, session);
+            return;
+        }
+        nextSession = Math.max(nextSession, session + 1);
+        if (type == RecordType.START) {
+            games.put(session, GameSnapshot.decode(payload));
+            return;
+        }
+        final ArithmeticScrabble game = games.get(session);
+        if (game == null) {
+            throw new GameException("game has not been started");
+        }
+        switch (type) {
+            case PLACE:
+                place(game, payload);
+                break;
+            case UNDO:
+                game.undo();
+                break;
+            case REDO:
+                game.redo();
+                break;
+            case END:
+                game.end();
+                break;
+            case QUIT:
+                game.quit();
+                break;
+            default:
+                throw new GameException("unknown record type " + type);
+        }
+    }
+
+    private void place(final ArithmeticScrabble game, final ByteBuffer payload) throws GameException {
+        final int row = payload.getInt();
+        final int column = payload.getInt();
+        final int orientation = payload.get();
+        final int tokenCount = payload.getInt();
+        if (orientation < 0 || orientation >= ORIENTATIONS.length || tokenCount < 0
+                || tokenCount != payload.remaining()) {
+            throw new GameException("malformed placement");
+        }
+        if (tokenPatterns.length < tokenCount) {
+            tokenPatterns = new char[tokenCount];
+        }
+        for (int index = 0; index < tokenCount; index++) {
+            final int type = payload.get();
+            if (type < 0 || type >= TOKEN_TYPES.length) {
+                throw new GameException("unknown token type " + type);
+            }
+            tokenPatterns[index] = TOKEN_TYPES[type].getStringPattern().charAt(0);
+        }
+        final Token[] tokens = Token.parseTokensWithoutPlayer(CharBuffer.wrap(tokenPatterns), 0, tokenCount);
+        game.place(row, column, ORIENTATIONS[orientation], tokens);
+    }
+
+    /**
+     * Returns the restored games by their session.
+     *
+     * @return an unmodifiable map of the games
+     */
+    public Map<Long, ArithmeticScrabble> getGames() {
+        return Collections.unmodifiableMap(games);
+    }
+
+    /**
+     * The first session which has not been used by any game of the journal.
+     *
+     * @return the next session
+     */
+    public long getNextSession() {
+        return nextSession;
+    }
+
+    /**
+     * The number of records replayed.
+     *
+     * @return the number of records
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns whether or not the journal ends with a damaged record, which has been ignored.
+     *
+     * @return whether or not the journal has a damaged tail
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Replays the journal with the given path and prints the number of restored games and the throughput.
+     *
+     * @param args the path of the journal
+     */
+    public static void main(final String[] args) {
+        if (args.length != 1) {
+            Terminal.printError("expected <journal>");
+            return;
+        }
+        try {
+            final long start = System.nanoTime();
+            final JournalReplay replay = replay(Path.of(args[0]));
+            final long elapsed = Math.max(1, System.nanoTime() - start);
+            final long active = replay.games.values().stream().filter(ArithmeticScrabble::isActive).count();
+            Terminal.printLine("games " + replay.games.size() + ", active " + active + ", records " + replay.records
+                               + ", records/s " + replay.records * TimeUnit.SECONDS.toNanos(1) / elapsed
+                               + (replay.truncated
+                    ? ", damaged tail ignored"
+                    : ""));
+        } catch (final IOException | GameException exception) {
+            Terminal.printError(exception.getMessage());
+        }
+    }
+}
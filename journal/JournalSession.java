@@ -0,0 +1,98 @@
+
+
+package edu.kit.informatik.scrabble.journal;
+
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.game.GameObserver;
+import edu.kit.informatik.scrabble.game.Move;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Records the changes of a single game attached to a {@link MoveJournal}. Like its game, a session must not be
+ * shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class JournalSession implements GameObserver {
+    private static final ByteBuffer EMPTY_PAYLOAD = ByteBuffer.allocate(0);
+    private static final int PLACE_HEADER_LENGTH = 3 * Integer.BYTES + 1;
+    private final MoveJournal journal;
+    private final long session;
+    private long lastSequence;
+
+    /**
+     * Instantiates a new {@link JournalSession} with the given parameters.
+     *
+     * @param journal the journal the records are appended to
+     * @param session the identifier of the game in the journal
+     */
+    JournalSession(final MoveJournal journal, final long session) {
+        this.journal = journal;
+        this.session = session;
+    }
+
+    /**
+     * Records the start of the game.
+     *
+     * @param snapshot the snapshot of the game
+     */
+    void started(final byte[] snapshot) {
+        append(RecordType.START, ByteBuffer.wrap(snapshot));
+    }
+
+    @Override public void placed(final Move move) {
+        final Token[] tokens = move.getTokens();
+        final ByteBuffer payload = ByteBuffer.allocate(PLACE_HEADER_LENGTH + tokens.length);
+        payload.putInt(move.getRow());
+        payload.putInt(move.getColumn());
+        payload.put((byte) move.getOrientation().ordinal());
+        payload.putInt(tokens.length);
+        for (final Token token : tokens) {
+            payload.put((byte) token.getTokenType().ordinal());
+        }
+        append(RecordType.PLACE, payload.flip());
+    }
+
+    @Override public void undone() {
+        append(RecordType.UNDO, EMPTY_PAYLOAD.duplicate());
+    }
+
+    @Override public void redone() {
+        append(RecordType.REDO, EMPTY_PAYLOAD.duplicate());
+    }
+
+    @Override public void ended() {
+        append(RecordType.END, EMPTY_PAYLOAD.duplicate());
+    }
+
+    @Override public void quit() {
+        append(RecordType.QUIT, EMPTY_PAYLOAD.duplicate());
+    }
+
+    private void append(final RecordType type, final ByteBuffer payload) {
+        lastSequence = journal.append(type, session, payload);
+    }
+
+    /**
+     * Waits until all changes of the game recorded so far have been forced to the disk. Returns immediately if they
+     * have been already.
+     *
+     * @throws IOException occurs if the journal could not be written or has been closed
+     * @throws InterruptedException occurs if the current thread is interrupted while waiting
+     */
+    public void awaitDurable() throws IOException, InterruptedException {
+        journal.awaitDurable(lastSequence);
+    }
+
+    /**
+     * The identifier of the game in the journal.
+     *
+     * @return the session of the game
+     */
+    public long getSession() {
+        return session;
+    }
+}
@@ -0,0 +1,384 @@
+
+
+package edu.kit.informatik.scrabble.journal;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.game.GameSnapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the changes of any number of games, each attached as a {@link JournalSession}. Every
+ * record consists of the length of its content, the CRC-32 checksum of its content and the content, which is the
+ * {@link RecordType}, the session of the game and a payload. Records are appended to a buffer in memory without
+ * waiting for the disk. A single background thread writes the buffered records and forces them to the disk, while
+ * it waits for the disk the records of all sessions are collected and written by its next sync. Thus many
+ * concurrent sessions share one sync, and a session only waits for the disk if it calls
+ * {@link JournalSession#awaitDurable()}. The state is guarded by a {@link ReentrantLock} rather than a monitor, so
+ * virtual threads waiting for the disk do not pin their carrier threads.
+ *
+ * <p>Opening an existing journal cuts off a damaged tail left by a crash and continues appending after the last
+ * valid record. The journal can be replayed by {@link JournalReplay} and compacted by
+ * {@link #compact(Path, JournalReplay)}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class MoveJournal implements Closeable {
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    private final FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Signalled when a record has been appended or the journal is closed.
+     */
+    private final Condition recordsAppended = lock.newCondition();
+    /**
+     * Signalled when records have been forced to the disk or the flusher has stopped.
+     */
+    private final Condition recordsDurable = lock.newCondition();
+    private final CRC32 checksum = new CRC32();
+    private final Thread flusher;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long nextSession;
+    private long appended;
+    private long durable;
+    private long syncs;
+    private boolean closed;
+    private boolean stopped;
+    private IOException failure;
+
+    /**
+     * Opens the journal with the given path, which is created if it does not exist.
+     *
+     * @param path the path of the journal
+     *
+     * @throws IOException occurs if the journal cannot be read or written
+     * @throws GameException occurs if the file exists but is not a journal
+     */
+    public MoveJournal(final Path path) throws IOException, GameException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                final ByteBuffer header = ByteBuffer.allocate(JournalReader.HEADER_LENGTH);
+                header.putInt(JournalReader.MAGIC).put(JournalReader.VERSION).flip();
+                writeFully(header);
+                channel.force(true);
+            } else {
+                try (JournalReader reader = new JournalReader(path)) {
+                    while (reader.next()) {
+                        nextSession = Math.max(nextSession, reader.getType() == RecordType.CHECKPOINT
+                                ? reader.getSession()
+                                : reader.getSession() + 1);
+                    }
+                    // the damaged tail of a crashed write is cut off, so new records directly follow valid ones
+                    channel.truncate(reader.getValidLength());
+                }
+            }
+            channel.position(channel.size());
+        } catch (final IOException | GameException exception) {
+            channel.close();
+            throw exception;
+        }
+        flusher = new Thread(this::flush, "move-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Compacts the journal with the given path, which has been replayed by the given replay and must not be open.
+     * Only the games which have neither been quit nor ended are kept, each as a record containing its
+     * {@link GameSnapshot} under its earlier session, followed by a {@link RecordType#CHECKPOINT}. The compacted
+     * journal is written next to the journal and replaces it atomically, so a crash leaves either of them.
+     *
+     * @param path the path of the journal
+     * @param replay the replay of the journal
+     *
+     * @return the kept games by their session restored from their snapshots, so like the games replayed from the
+     *         compacted journal their placements before the compaction cannot be undone
+     *
+     * @throws IOException occurs if the compacted journal cannot be written
+     * @throws GameException occurs if the compacted journal cannot be created
+     */
+    public static Map<Long, ArithmeticScrabble> compact(final Path path, final JournalReplay replay)
+            throws IOException, GameException {
+        final Path compacted = path.resolveSibling(path.getFileName() + COMPACTED_SUFFIX);
+        Files.deleteIfExists(compacted);
+        final Map<Long, ArithmeticScrabble> kept = new HashMap<>();
+        try (MoveJournal journal = new MoveJournal(compacted)) {
+            for (final Map.Entry<Long, ArithmeticScrabble> game : replay.getGames().entrySet()) {
+                if (game.getValue().isActive() && !game.getValue().hasEnded()) {
+                    final byte[] snapshot = GameSnapshot.encode(game.getValue());
+                    journal.append(RecordType.START, game.getKey(), ByteBuffer.wrap(snapshot));
+                    kept.put(game.getKey(), GameSnapshot.decode(snapshot));
+                }
+            }
+            journal.append(RecordType.CHECKPOINT, replay.getNextSession(), ByteBuffer.allocate(0));
+        }
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return kept;
+    }
+
+    /**
+     * Attaches the given game to this journal. A record containing the {@link GameSnapshot} of the game is appended
+     * and every following change of the game is recorded. The game should be attached before its first placement,
+     * as placements made before cannot be undone after the journal has been replayed.
+     *
+     * @param game the game
+     *
+     * @return the session of the game
+     */
+    public JournalSession attach(final ArithmeticScrabble game) {
+        final long session;
+        lock.lock();
+        try {
+            session = nextSession++;
+        } finally {
+            lock.unlock();
+        }
+        final JournalSession journalSession = new JournalSession(this, session);
+        journalSession.started(GameSnapshot.encode(game));
+        game.setObserver(journalSession);
+        return journalSession;
+    }
+
+    /**
+     * Attaches a game restored by {@link JournalReplay} to this journal again. No snapshot is appended, the
+     * following changes of the game are recorded after the records of its earlier session.
+     *
+     * @param session the session of the game in the replayed journal
+     * @param game the restored game
+     *
+     * @return the session of the game
+     */
+    public JournalSession resume(final long session, final ArithmeticScrabble game) {
+        final JournalSession journalSession = new JournalSession(this, session);
+        game.setObserver(journalSession);
+        return journalSession;
+    }
+
+    /**
+     * Appends a record to the buffer of this journal. The record is written by the next sync.
+     *
+     * @param type the type of the record
+     * @param session the session of the game the record belongs to
+     * @param payload the payload of the record from its position to its limit
+     *
+     * @return the sequence number of the record, which can be passed to {@link #awaitDurable(long)}
+     */
+    long append(final RecordType type, final long session, final ByteBuffer payload) {
+        final int contentLength = JournalReader.CONTENT_HEADER_LENGTH + payload.remaining();
+        lock.lock();
+        try {
+            ensureCapacity(JournalReader.RECORD_HEADER_LENGTH + contentLength);
+            final int start = pending.position();
+            pending.putInt(contentLength);
+            pending.putInt(0);
+            final int contentStart = pending.position();
+            pending.put(type.getCode());
+            pending.putLong(session);
+            pending.put(payload);
+            checksum.reset();
+            checksum.update(pending.array(), contentStart, contentLength);
+            pending.putInt(start + Integer.BYTES, (int) checksum.getValue());
+            appended++;
+            recordsAppended.signal();
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureCapacity(final int length) {
+        if (pending.remaining() < length) {
+            final ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2,
+                                                                   pending.position() + length));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    /**
+     * Waits until the record with the given sequence number and all records before have been forced to the disk.
+     *
+     * @param sequence the sequence number returned by {@link #append(RecordType, long, ByteBuffer)}
+     *
+     * @throws IOException occurs if the journal could not be written or has been closed before
+     * @throws InterruptedException occurs if the current thread is interrupted while waiting
+     */
+    void awaitDurable(final long sequence) throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            while (durable < sequence) {
+                if (failure != null) {
+                    throw new IOException("journal could not be written", failure);
+                }
+                if (stopped) {
+                    throw new IOException("journal has been closed");
+                }
+                recordsDurable.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered records and forces them to the disk until the journal is closed. The buffers are swapped
+     * so records can be appended while the previous ones are written.
+     */
+    private void flush() {
+        try {
+            while (true) {
+                final long target;
+                lock.lock();
+                try {
+                    while (pending.position() == 0 && !closed) {
+                        recordsAppended.await();
+                    }
+                    if (pending.position() == 0) {
+                        return;
+                    }
+                    final ByteBuffer filled = pending;
+                    pending = writing;
+                    writing = filled;
+                    target = appended;
+                } finally {
+                    lock.unlock();
+                }
+                writing.flip();
+                writeFully(writing);
+                channel.force(false);
+                writing.clear();
+                lock.lock();
+                try {
+                    durable = target;
+                    syncs++;
+                    recordsDurable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (final IOException exception) {
+            lock.lock();
+            try {
+                failure = exception;
+            } finally {
+                lock.unlock();
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.lock();
+            try {
+                stopped = true;
+                recordsDurable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * The number of records appended since this journal has been opened.
+     *
+     * @return the number of appended records
+     */
+    public long getAppended() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of records forced to the disk since this journal has been opened.
+     *
+     * @return the number of durable records
+     */
+    public long getDurable() {
+        lock.lock();
+        try {
+            return durable;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The number of syncs since this journal has been opened, which is smaller than the number of durable records
+     * if records of several sessions were forced to the disk together.
+     *
+     * @return the number of syncs
+     */
+    public long getSyncs() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all appended records to the disk and closes this journal. Records appended afterwards are discarded.
+     *
+     * @throws IOException occurs if the journal cannot be written
+     */
+    @Override public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            recordsAppended.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override public String toString() {
+        lock.lock();
+        try {
+            return "appended " + appended + ", durable " + durable + ", syncs " + syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+
+
+package edu.kit.informatik.scrabble.journal;
+
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.game.GameSnapshot;
+
+/**
+ * The types of the records of a {@link MoveJournal}, each describing a successful change of an
+ * {@link ArithmeticScrabble}. A record type is written as its ordinal, so new types must be appended.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+enum RecordType {
+    /**
+     * A game has been attached to the journal. Contains the {@link GameSnapshot} of the game.
+     */
+    START,
+    /**
+     * Tokens have been placed. Contains the row and the column as integers, the ordinal of the orientation as a byte,
+     * the number of tokens as an integer and the ordinals of their types as bytes.
+     */
+    PLACE,
+    /**
+     * The most recent placement has been undone.
+     */
+    UNDO,
+    /**
+     * The most recently undone placement has been placed again.
+     */
+    REDO,
+    /**
+     * The game has been ended.
+     */
+    END,
+    /**
+     * The game has been quit.
+     */
+    QUIT,
+    /**
+     * The journal has been compacted by {@link MoveJournal#compact(java.nio.file.Path, JournalReplay)}. Its session
+     * is the first session which was not used before the compaction, so sessions of dropped games are not used
+     * again. It has no payload and belongs to no game.
+     */
+    CHECKPOINT;
+
+    private static final RecordType[] TYPES = values();
+
+    /**
+     * Returns the record type written as the given byte.
+     *
+     * @param code the written byte
+     *
+     * @return the record type, null if there is none
+     */
+    static RecordType of(final byte code) {
+        return code >= 0 && code < TYPES.length
+                ? TYPES[code]
+                : null;
+    }
+
+    /**
+     * Returns the byte this record type is written as.
+     *
+     * @return the written byte
+     */
+    byte getCode() {
+        return (byte) ordinal();
+    }
+}
@@ -0,0 +1,162 @@
+
+
+package edu.kit.informatik.scrabble.metrics;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.game.LineEvaluationCache;
+import edu.kit.informatik.scrabble.ui.Command;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the game engine shared by all games of the JVM. Together with the latency of every {@link Command}
+ * they can be registered at the platform MBean server below {@value #DOMAIN} or dumped as text.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class EngineMetrics implements EngineMetricsMXBean {
+    /**
+     * The domain of the names of all registered MBeans.
+     */
+    public static final String DOMAIN = "edu.kit.informatik.scrabble";
+    private static final EngineMetrics SHARED = new EngineMetrics();
+    private static final String LATENCY_FORMAT = "%-6s %10s %10s %10s %10s %10s %10s %10s";
+    private final LongAdder lineEvaluations = new LongAdder();
+    private final LongAdder expressionsEvaluated = new LongAdder();
+    private final LongAdder expressionsFound = new LongAdder();
+    private final LongAdder rejectedPlacements = new LongAdder();
+    private boolean registered;
+
+    private EngineMetrics() {
+    }
+
+    /**
+     * Returns the metrics shared by all games of the JVM.
+     *
+     * @return the shared {@link EngineMetrics}
+     */
+    public static EngineMetrics getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Counts an evaluated line.
+     */
+    public void countLineEvaluation() {
+        lineEvaluations.increment();
+    }
+
+    /**
+     * Counts the expressions of an evaluated run of tokens.
+     *
+     * @param evaluated the number of evaluated expressions
+     * @param found the number of valid expressions
+     */
+    public void countExpressions(final int evaluated, final int found) {
+        expressionsEvaluated.add(evaluated);
+        expressionsFound.add(found);
+    }
+
+    /**
+     * Counts a placement rejected by the rules of the game.
+     */
+    public void countRejectedPlacement() {
+        rejectedPlacements.increment();
+    }
+
+    /**
+     * Registers these metrics and the latency of every {@link Command} at the platform MBean server. Further calls
+     * have no effect.
+     *
+     * @throws GameException occurs if an MBean cannot be registered
+     */
+    public synchronized void register() throws GameException {
+        if (registered) {
+            return;
+        }
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName(DOMAIN, "type", "EngineMetrics"));
+            for (final Command command : Command.values()) {
+                final ObjectName name = new ObjectName(DOMAIN + ":type=CommandLatency,name="
+                                                       + command.name().toLowerCase(Locale.ROOT));
+                server.registerMBean(command.getLatency(), name);
+            }
+        } catch (final JMException exception) {
+            throw new GameException("cannot register metrics: " + exception.getMessage());
+        }
+        registered = true;
+    }
+
+    @Override public long getLineEvaluations() {
+        return lineEvaluations.sum();
+    }
+
+    @Override public long getExpressionsEvaluated() {
+        return expressionsEvaluated.sum();
+    }
+
+    @Override public long getExpressionsFound() {
+        return expressionsFound.sum();
+    }
+
+    @Override public long getRejectedPlacements() {
+        return rejectedPlacements.sum();
+    }
+
+    @Override public long getCacheHits() {
+        return LineEvaluationCache.getShared().getHits();
+    }
+
+    @Override public long getCacheMisses() {
+        return LineEvaluationCache.getShared().getMisses();
+    }
+
+    @Override public long getCacheEvictions() {
+        return LineEvaluationCache.getShared().getEvictions();
+    }
+
+    @Override public void reset() {
+        lineEvaluations.reset();
+        expressionsEvaluated.reset();
+        expressionsFound.reset();
+        rejectedPlacements.reset();
+        for (final Command command : Command.values()) {
+            command.getLatency().reset();
+        }
+    }
+
+    @Override public String dump() {
+        final StringBuilder output = new StringBuilder();
+        output.append(String.format(Locale.ROOT, LATENCY_FORMAT, "us", "count", "mean", "p50", "p90", "p99",
+                                    "p99.9", "max"));
+        for (final Command command : Command.values()) {
+            final LatencyHistogram latency = command.getLatency();
+            output.append(Main.LINE_SEPARATOR).append(String.format(
+                    Locale.ROOT, LATENCY_FORMAT, command.name().toLowerCase(Locale.ROOT), latency.getCount(),
+                    toMicros(latency.getMean()), toMicros(latency.getP50()), toMicros(latency.getP90()),
+                    toMicros(latency.getP99()), toMicros(latency.getP999()), toMicros(latency.getMax())));
+        }
+        output.append(Main.LINE_SEPARATOR).append(this);
+        return output.toString();
+    }
+
+    private static String toMicros(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MICROSECONDS.toNanos(1));
+    }
+
+    @Override public String toString() {
+        return "line evaluations " + getLineEvaluations() + ", expressions evaluated " + getExpressionsEvaluated()
+               + ", expressions found " + getExpressionsFound() + ", rejected placements " + getRejectedPlacements()
+               + ", cache hits " + getCacheHits() + ", cache misses " + getCacheMisses() + ", cache evictions "
+               + getCacheEvictions();
+    }
+}
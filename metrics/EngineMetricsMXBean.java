@@ -0,0 +1,72 @@
+
+
+package edu.kit.informatik.scrabble.metrics;
+
+/**
+ * Management interface of the {@link EngineMetrics}, containing the counters of the game engine of the JVM.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface EngineMetricsMXBean {
+    /**
+     * The number of evaluated lines of all boards.
+     *
+     * @return the number of line evaluations
+     */
+    long getLineEvaluations();
+
+    /**
+     * The number of expressions which have been evaluated, each starting at a token of a run and ending with the run.
+     *
+     * @return the number of evaluated expressions
+     */
+    long getExpressionsEvaluated();
+
+    /**
+     * The number of evaluated expressions which have been valid.
+     *
+     * @return the number of valid expressions
+     */
+    long getExpressionsFound();
+
+    /**
+     * The number of placements which have been rejected by the rules of the game.
+     *
+     * @return the number of rejected placements
+     */
+    long getRejectedPlacements();
+
+    /**
+     * The number of lookups of the shared line evaluation cache which found a cached result.
+     *
+     * @return the number of cache hits
+     */
+    long getCacheHits();
+
+    /**
+     * The number of lookups of the shared line evaluation cache which did not find a cached result.
+     *
+     * @return the number of cache misses
+     */
+    long getCacheMisses();
+
+    /**
+     * The number of entries removed from the shared line evaluation cache to stay within its maximum size.
+     *
+     * @return the number of cache evictions
+     */
+    long getCacheEvictions();
+
+    /**
+     * Resets the counters of the engine and the latencies of all commands. The counters of the cache are not reset.
+     */
+    void reset();
+
+    /**
+     * Returns the counters and the latencies of all commands as text.
+     *
+     * @return the text representation of all metrics
+     */
+    String dump();
+}
@@ -0,0 +1,127 @@
+
+
+package edu.kit.informatik.scrabble.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in nanoseconds which may be recorded concurrently without locking. Small durations are
+ * counted exactly, larger ones in buckets whose width grows with the power of two of the duration, so every bucket
+ * covers a range of at most about three percent of its lower bound. Percentiles are reported as the upper bound of
+ * the bucket they fall in.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 5;
+    /**
+     * The number of buckets for every power of two.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final double PERCENT = 100;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records the given duration. Negative durations are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets.incrementAndGet(getBucket(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the upper bound of the given percentile of the recorded durations.
+     *
+     * @param percentile the percentile between 0 and 100
+     *
+     * @return the duration in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getPercentile(final double percentile) {
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, PERCENT) / PERCENT * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                return Math.min(getUpperBound(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    @Override public long getCount() {
+        return count.sum();
+    }
+
+    @Override public long getMean() {
+        final long total = getCount();
+        return total == 0
+                ? 0
+                : sum.sum() / total;
+    }
+
+    @Override public long getP50() {
+        return getPercentile(50);
+    }
+
+    @Override public long getP90() {
+        return getPercentile(90);
+    }
+
+    @Override public long getP99() {
+        return getPercentile(99);
+    }
+
+    @Override public long getP999() {
+        return getPercentile(99.9);
+    }
+
+    @Override public long getMax() {
+        return max.get();
+    }
+
+    @Override public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    private static int getBucket(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getUpperBound(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKET_COUNT - 1;
+        final long lowerBound = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,65 @@
+
+
+package edu.kit.informatik.scrabble.metrics;
+
+/**
+ * Management interface of a {@link LatencyHistogram}. All durations are given in nanoseconds.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface LatencyHistogramMXBean {
+    /**
+     * The number of recorded durations.
+     *
+     * @return the number of durations
+     */
+    long getCount();
+
+    /**
+     * The mean of the recorded durations.
+     *
+     * @return the mean duration, 0 if there is none
+     */
+    long getMean();
+
+    /**
+     * The median of the recorded durations.
+     *
+     * @return the median duration
+     */
+    long getP50();
+
+    /**
+     * The 90th percentile of the recorded durations.
+     *
+     * @return the 90th percentile
+     */
+    long getP90();
+
+    /**
+     * The 99th percentile of the recorded durations.
+     *
+     * @return the 99th percentile
+     */
+    long getP99();
+
+    /**
+     * The 99.9th percentile of the recorded durations.
+     *
+     * @return the 99.9th percentile
+     */
+    long getP999();
+
+    /**
+     * The longest recorded duration.
+     *
+     * @return the maximum duration
+     */
+    long getMax();
+
+    /**
+     * Removes all recorded durations.
+     */
+    void reset();
+}
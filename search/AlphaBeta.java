@@ -0,0 +1,208 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import edu.kit.informatik.scrabble.game.Zobrist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Encapsulates a single search of the {@link SearchEngine}. Searches variations with alpha beta pruning, the player
+ * the search was started for maximizes the rating of {@link Position#rate(int)} and all other players minimize it.
+ * Only the moves with the highest score deltas are searched in every position. The results are stored in a
+ * {@link TranspositionTable}, so positions reached by different move orders are only searched once and the best move
+ * of a previous iteration is searched first. The deadline is shared by all threads taking part in the search, once it
+ * is reached all running variations are abandoned.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class AlphaBeta {
+    /**
+     * Orders moves by descending score delta.
+     */
+    static final Comparator<ScoredMove> BY_SCORE_DELTA
+            = Comparator.comparingInt(ScoredMove::getScoreDelta).reversed();
+    private final int rootSeat;
+    private final long rootSeatKey;
+    private final int maximumBranching;
+    private final TranspositionTable table;
+    private final long deadline;
+    private final LongAdder nodes = new LongAdder();
+    private volatile boolean expired = false;
+
+    /**
+     * Instantiates a new {@link AlphaBeta} with the given parameters.
+     *
+     * @param rootSeat the seat of the player the search is started for
+     * @param maximumBranching the maximum number of moves searched in every position
+     * @param table the table storing the results of searched positions
+     * @param deadline the value of {@link System#nanoTime()} at which the search is abandoned
+     */
+    AlphaBeta(final int rootSeat, final int maximumBranching, final TranspositionTable table, final long deadline) {
+        this.rootSeat = rootSeat;
+        // ratings depend on the player they are calculated for
+        rootSeatKey = Zobrist.key(Zobrist.RATED_SEAT, rootSeat, 0);
+        this.maximumBranching = maximumBranching;
+        this.table = table;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the moves of the player to move with the highest score deltas.
+     *
+     * @param position the position
+     * @param generator the generator for the board of the position
+     * @param limit the maximum number of moves returned
+     *
+     * @return the best moves ordered by descending score delta
+     */
+    static List<ScoredMove> getBestMoves(final Position position, final MoveGenerator generator, final int limit) {
+        // the worst of the kept moves is at the head
+        final PriorityQueue<ScoredMove> best = new PriorityQueue<>(BY_SCORE_DELTA.reversed());
+        final int seat = position.getActiveSeat();
+        generator.generate(position.getPlayer(seat), position.getTokenCounts(seat), move -> {
+            best.add(move);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        final List<ScoredMove> moves = new ArrayList<>(best);
+        Collections.sort(moves, BY_SCORE_DELTA);
+        return moves;
+    }
+
+    /**
+     * Rates the given position by searching the given number of moves ahead.
+     *
+     * @param position the position to rate, which is unchanged afterwards
+     * @param generator the generator for the board of the position
+     * @param depth the number of moves to search ahead
+     * @param alpha the rating the root player is already guaranteed
+     * @param beta the rating the other players can already hold the root player to
+     *
+     * @return the rating of the position, meaningless if {@link #isExpired()} holds afterwards
+     */
+    long search(final Position position, final MoveGenerator generator, final int depth, final long alpha,
+            final long beta) {
+        nodes.increment();
+        if (isExpired()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return position.rate(rootSeat);
+        }
+        final long hash = position.getHash() ^ rootSeatKey;
+        final TranspositionEntry entry = table.probe(hash);
+        if (entry != null && entry.getDepth() >= depth && isConclusive(entry, alpha, beta)) {
+            return entry.getRating();
+        }
+        final List<ScoredMove> moves = getBestMoves(position, generator, maximumBranching);
+        if (moves.isEmpty()) {
+            // the game has ended for the player to move
+            final long rating = position.rate(rootSeat);
+            table.store(hash, depth, Bound.EXACT, rating, -1);
+            return rating;
+        }
+        final int[] order = getOrder(moves.size(), entry == null
+                ? -1
+                : entry.getBestMoveIndex());
+        final boolean maximizing = position.getActiveSeat() == rootSeat;
+        long currentAlpha = alpha;
+        long currentBeta = beta;
+        long rating = maximizing
+                ? Long.MIN_VALUE
+                : Long.MAX_VALUE;
+        int bestMoveIndex = -1;
+        for (final int index : order) {
+            final ScoredMove move = moves.get(index);
+            position.apply(move);
+            final long moveRating = search(position, generator, depth - 1, currentAlpha, currentBeta);
+            position.revert(move);
+            if (expired) {
+                return 0;
+            }
+            if (maximizing ? moveRating > rating : moveRating < rating) {
+                rating = moveRating;
+                bestMoveIndex = index;
+            }
+            if (maximizing) {
+                currentAlpha = Math.max(currentAlpha, rating);
+            } else {
+                currentBeta = Math.min(currentBeta, rating);
+            }
+            if (currentAlpha >= currentBeta) {
+                break;
+            }
+        }
+        final Bound bound;
+        if (rating <= alpha) {
+            bound = Bound.UPPER;
+        } else if (rating >= beta) {
+            bound = Bound.LOWER;
+        } else {
+            bound = Bound.EXACT;
+        }
+        table.store(hash, depth, bound, rating, bestMoveIndex);
+        return rating;
+    }
+
+    private static boolean isConclusive(final TranspositionEntry entry, final long alpha, final long beta) {
+        switch (entry.getBound()) {
+            case LOWER:
+                return entry.getRating() >= beta;
+            case UPPER:
+                return entry.getRating() <= alpha;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the order in which the moves are searched, the stored best move first and all others by descending
+     * score delta.
+     *
+     * @param moveCount the number of moves
+     * @param bestMoveIndex the index of the stored best move, -1 if there is none
+     *
+     * @return the indices of the moves in the order of the search
+     */
+    private static int[] getOrder(final int moveCount, final int bestMoveIndex) {
+        final int[] order = new int[moveCount];
+        for (int index = 0; index < moveCount; index++) {
+            order[index] = index;
+        }
+        if (bestMoveIndex > 0 && bestMoveIndex < moveCount) {
+            System.arraycopy(order, 0, order, 1, bestMoveIndex);
+            order[0] = bestMoveIndex;
+        }
+        return order;
+    }
+
+    /**
+     * Returns whether or not the deadline of this search has been reached. Reading the clock is cheap compared to
+     * generating the moves of a position, so it is read for every visited position.
+     *
+     * @return whether or not the search has to be abandoned
+     */
+    boolean isExpired() {
+        if (!expired && System.nanoTime() - deadline >= 0) {
+            expired = true;
+        }
+        return expired;
+    }
+
+    /**
+     * The number of positions visited by this search.
+     *
+     * @return the number of visited positions
+     */
+    long getNodes() {
+        return nodes.sum();
+    }
+}
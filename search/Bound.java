@@ -0,0 +1,25 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+/**
+ * Describes how a rating stored in a {@link TranspositionTable} relates to the actual rating of its position, which
+ * depends on the bounds the position was searched with.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public enum Bound {
+    /**
+     * The stored rating is the actual rating.
+     */
+    EXACT,
+    /**
+     * The actual rating is at least the stored rating.
+     */
+    LOWER,
+    /**
+     * The actual rating is at most the stored rating.
+     */
+    UPPER
+}
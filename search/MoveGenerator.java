@@ -0,0 +1,719 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import edu.kit.informatik.scrabble.entity.ExpressionEvaluator;
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.game.GameBoard;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Enumerates the legal placements of a player on a {@link GameBoard}. A placement which does not touch any token on
+ * the board can only form an expression on its own, so it is legal iff it consists of exactly two operands followed
+ * by an operator, and its score is known without looking at the board. All other placements cover an anchor, an
+ * empty field next to a token, so only the placements around the anchors are visited. They are built token by token
+ * while tracking the stack depth of every expression of their line which could contain them, sequences which leave
+ * a token without any possible expression are pruned.
+ * <p>
+ * A placement only changes the run of consecutive tokens of its line containing it and the runs across the line
+ * containing its tokens. These runs are evaluated directly, while the coverage of all other tokens is taken from the
+ * cached evaluations of the board, so the board is never changed. The runs across the line are evaluated once for
+ * every token chosen at a field, the run of the line once for every complete placement.
+ * <p>
+ * A generator keeps the state of the current generation and must not be shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class MoveGenerator {
+    /**
+     * The maximum number of tokens placed in one move.
+     */
+    public static final int MAXIMUM_TOKENS = ExpressionEvaluator.MINIMUM_EXPRESSION_LENGTH;
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+    /**
+     * The change of the stack depth by every {@link TokenType} indexed by its ordinal.
+     */
+    private static final int[] DEPTH_CHANGES = new int[TOKEN_TYPES.length];
+    private static final int FAILED = -1;
+    /**
+     * The differences to the four fields next to a field.
+     */
+    private static final int[][] NEIGHBOURS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int ANCHORS_PER_TOKEN = NEIGHBOURS.length;
+    private static final int INITIAL_RUN_CAPACITY = 16;
+    static {
+        for (final TokenType tokenType : TOKEN_TYPES) {
+            DEPTH_CHANGES[tokenType.ordinal()] = tokenType.isOperator()
+                    ? -1
+                    : 1;
+        }
+    }
+
+    private final GameBoard board;
+    private final TokenType[] sequence = new TokenType[MAXIMUM_TOKENS];
+    /**
+     * For every index of the current placement the stack depths of the expressions of the line when reaching it.
+     */
+    private final int[][] startDepths = new int[MAXIMUM_TOKENS + 1][0];
+    /**
+     * The run of the line containing the current placement, the tokens on the board and the chosen ones.
+     */
+    private final Run line = new Run();
+    /**
+     * For every field of the current placement the run across the line containing it.
+     */
+    private final Run[] crossRuns = new Run[MAXIMUM_TOKENS];
+    /**
+     * For every field of the current placement the position of the field in its run across the line.
+     */
+    private final int[] crossPositions = new int[MAXIMUM_TOKENS];
+    /**
+     * For every field of the current placement the sum of the scores of the runs across the line next to it.
+     */
+    private final int[] crossPreviousScores = new int[MAXIMUM_TOKENS];
+    /**
+     * For every chosen token whether or not it is part of an expression of its run across the line.
+     */
+    private final boolean[] crossCovered = new boolean[MAXIMUM_TOKENS];
+    /**
+     * For every chosen token the change of the score of the player by its run across the line.
+     */
+    private final int[] crossDeltas = new int[MAXIMUM_TOKENS];
+    private Player player;
+    private int playerIndex;
+    private int[] tokenCounts;
+    private Consumer<ScoredMove> consumer;
+    private int row;
+    private int column;
+    private Orientation orientation;
+    private Orientation crossOrientation;
+    private int length;
+    private int leadingTokens;
+    private int trailingTokens;
+    /**
+     * The sum of the scores of the player of the runs of the line next to the current placement.
+     */
+    private int linePreviousScore;
+    /**
+     * The first leading token of the current placement which is not part of an expression across the line.
+     */
+    private int firstUncoveredLeading;
+    /**
+     * The score of the player in the run evaluated last by {@link #evaluateRun(Run, int, int)}.
+     */
+    private int runScore;
+    /**
+     * The number of tokens of every owner in the expression starting at the current token of a run.
+     */
+    private int[] ownerTokenCounts = new int[Main.MAXIMUM_PLAYERS + 1];
+    /**
+     * The stack of the values of the expression calculated by {@link #calculate(Run, int, int)}.
+     */
+    private int[] values = new int[INITIAL_RUN_CAPACITY];
+
+    /**
+     * Instantiates a new {@link MoveGenerator} for the given board.
+     *
+     * @param board the board the moves are generated for, which is never changed
+     */
+    public MoveGenerator(final GameBoard board) {
+        this.board = board;
+        for (int index = 0; index < MAXIMUM_TOKENS; index++) {
+            crossRuns[index] = new Run();
+        }
+    }
+
+    /**
+     * Counts the given tokens by their type.
+     *
+     * @param tokens the tokens to count
+     *
+     * @return an array containing the number of tokens for every {@link TokenType} indexed by its ordinal
+     */
+    public static int[] countTokens(final Collection<Token> tokens) {
+        final int[] counts = new int[TOKEN_TYPES.length];
+        for (final Token token : tokens) {
+            counts[token.getTokenType().ordinal()]++;
+        }
+        return counts;
+    }
+
+    private static int push(final int depth, final TokenType tokenType) {
+        if (depth == FAILED) {
+            return FAILED;
+        }
+        final int depthChange = DEPTH_CHANGES[tokenType.ordinal()];
+        // an operator needs two operands
+        return depth + depthChange < 1
+                ? FAILED
+                : depth + depthChange;
+    }
+
+    /**
+     * Generates all legal moves of the given player.
+     *
+     * @param player the player making the moves
+     * @param tokenCounts the number of tokens of every type the player owns as given by {@link #countTokens}
+     *
+     * @return a list of all legal moves
+     */
+    public List<ScoredMove> generate(final Player player, final int[] tokenCounts) {
+        final List<ScoredMove> moves = new ArrayList<>();
+        generate(player, tokenCounts, moves::add);
+        return moves;
+    }
+
+    /**
+     * Generates all legal moves of the given player and passes them to the given consumer. The board must be in a
+     * valid state.
+     *
+     * @param player the player making the moves
+     * @param tokenCounts the number of tokens of every type the player owns as given by {@link #countTokens}
+     * @param consumer the consumer of the legal moves
+     */
+    public void generate(final Player player, final int[] tokenCounts, final Consumer<ScoredMove> consumer) {
+        this.player = player;
+        playerIndex = player.getIndex();
+        this.tokenCounts = tokenCounts.clone();
+        this.consumer = consumer;
+        int tokenCount = 0;
+        for (final int count : tokenCounts) {
+            tokenCount += count;
+        }
+        final int maximumLength = Math.min(MAXIMUM_TOKENS, tokenCount);
+        if (maximumLength == MAXIMUM_TOKENS) {
+            generateIsolatedPlacements();
+        }
+        final long[] anchors = findAnchors();
+        for (final long anchor : anchors) {
+            generateAround((int) (anchor / board.getSize()), (int) (anchor % board.getSize()), maximumLength);
+        }
+    }
+
+    /**
+     * Returns the anchors of the board, which are the empty fields next to a token. Every placement touching a token
+     * covers at least one anchor, so only placements around the anchors have to be visited.
+     *
+     * @return the anchors as row-major indices in ascending order
+     */
+    private long[] findAnchors() {
+        final int size = board.getSize();
+        long[] anchors = new long[ANCHORS_PER_TOKEN];
+        int anchorCount = 0;
+        for (int tokenRow = board.nextOccupiedLine(Orientation.HORIZONTAL, 0); tokenRow >= 0;
+             tokenRow = board.nextOccupiedLine(Orientation.HORIZONTAL, tokenRow + 1)) {
+            for (int tokenColumn = board.nextOccupied(Orientation.HORIZONTAL, tokenRow, 0); tokenColumn >= 0;
+                 tokenColumn = board.nextOccupied(Orientation.HORIZONTAL, tokenRow, tokenColumn + 1)) {
+                if (anchorCount + ANCHORS_PER_TOKEN > anchors.length) {
+                    anchors = Arrays.copyOf(anchors, anchors.length * 2);
+                }
+                for (final int[] neighbour : NEIGHBOURS) {
+                    final int anchorRow = tokenRow + neighbour[0];
+                    final int anchorColumn = tokenColumn + neighbour[1];
+                    if (isInside(anchorRow, anchorColumn) && !isOccupied(anchorRow, anchorColumn)) {
+                        anchors[anchorCount++] = (long) anchorRow * size + anchorColumn;
+                    }
+                }
+            }
+        }
+        Arrays.sort(anchors, 0, anchorCount);
+        int uniqueCount = 0;
+        for (int index = 0; index < anchorCount; index++) {
+            if (uniqueCount == 0 || anchors[uniqueCount - 1] != anchors[index]) {
+                anchors[uniqueCount++] = anchors[index];
+            }
+        }
+        return Arrays.copyOf(anchors, uniqueCount);
+    }
+
+    private void setOrientation(final Orientation direction) {
+        orientation = direction;
+        crossOrientation = direction == Orientation.HORIZONTAL
+                ? Orientation.VERTICAL
+                : Orientation.HORIZONTAL;
+    }
+
+    /**
+     * Generates all placements covering the given anchor whose first anchor it is, so every placement is generated
+     * once.
+     *
+     * @param anchorRow the row of the anchor
+     * @param anchorColumn the column of the anchor
+     * @param maximumLength the maximum number of placed tokens
+     */
+    private void generateAround(final int anchorRow, final int anchorColumn, final int maximumLength) {
+        for (final Orientation direction : Orientation.values()) {
+            setOrientation(direction);
+            final int[] difference = direction.getDirectionalDifference();
+            // a single token is placed identically in both orientations
+            final int minimumLength = direction == Orientation.HORIZONTAL
+                    ? 1
+                    : 2;
+            for (length = minimumLength; length <= maximumLength; length++) {
+                for (int offset = 0; offset < length; offset++) {
+                    row = anchorRow - offset * difference[0];
+                    column = anchorColumn - offset * difference[1];
+                    if (isFree(difference, offset)) {
+                        generatePlacement(difference);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the fields of the current placement are empty and the field at the given offset is its first
+     * anchor.
+     *
+     * @param difference the directional difference of the current orientation
+     * @param anchorOffset the index of the anchor in the placement
+     *
+     * @return whether or not the current placement is possible and belongs to the anchor
+     */
+    private boolean isFree(final int[] difference, final int anchorOffset) {
+        for (int index = 0; index < length; index++) {
+            final int fieldRow = row + index * difference[0];
+            final int fieldColumn = column + index * difference[1];
+            if (!isInside(fieldRow, fieldColumn) || isOccupied(fieldRow, fieldColumn)
+                || index < anchorOffset && isAnchor(fieldRow, fieldColumn)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates the placements which do not touch any token at every position of the board. They form expressions
+     * on their own, so they consist of exactly {@link #MAXIMUM_TOKENS} tokens.
+     */
+    private void generateIsolatedPlacements() {
+        length = MAXIMUM_TOKENS;
+        final int size = board.getSize();
+        for (final Orientation direction : Orientation.values()) {
+            setOrientation(direction);
+            final int[] difference = direction.getDirectionalDifference();
+            final int lastRow = size - 1 - (length - 1) * difference[0];
+            final int lastColumn = size - 1 - (length - 1) * difference[1];
+            for (row = 0; row <= lastRow; row++) {
+                for (column = 0; column <= lastColumn; column++) {
+                    if (isIsolated(difference)) {
+                        generateIsolated();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current placement would neither cover nor touch a token.
+     *
+     * @param difference the directional difference of the current orientation
+     *
+     * @return whether or not the current placement is isolated
+     */
+    private boolean isIsolated(final int[] difference) {
+        if (isOccupied(row - difference[0], column - difference[1])
+            || isOccupied(row + length * difference[0], column + length * difference[1])) {
+            return false;
+        }
+        for (int index = 0; index < length; index++) {
+            final int fieldRow = row + index * difference[0];
+            final int fieldColumn = column + index * difference[1];
+            // the neighbours across the line, the difference with swapped components
+            if (isOccupied(fieldRow, fieldColumn) || isOccupied(fieldRow + difference[1], fieldColumn + difference[0])
+                || isOccupied(fieldRow - difference[1], fieldColumn - difference[0])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Generates all moves for the current position, orientation and length. Reads the runs next to the placement,
+     * which are the same for all sequences of tokens, and scores them as they are before the placement.
+     *
+     * @param difference the directional difference of the current orientation
+     */
+    private void generatePlacement(final int[] difference) {
+        boolean touching = false;
+        for (int index = 0; index < length; index++) {
+            touching |= readCrossRun(index, difference);
+        }
+        leadingTokens = 0;
+        while (isOccupied(row - (leadingTokens + 1) * difference[0], column - (leadingTokens + 1) * difference[1])) {
+            leadingTokens++;
+        }
+        trailingTokens = 0;
+        while (isOccupied(row + (length + trailingTokens) * difference[0],
+                          column + (length + trailingTokens) * difference[1])) {
+            trailingTokens++;
+        }
+        if (!touching && leadingTokens == 0 && trailingTokens == 0) {
+            // placements without neighbours are generated by generateIsolatedPlacements
+            return;
+        }
+        final int runLength = leadingTokens + length + trailingTokens;
+        line.ensureCapacity(runLength);
+        firstUncoveredLeading = Integer.MAX_VALUE;
+        for (int position = 0; position < runLength; position++) {
+            final int offset = position - leadingTokens;
+            if (offset < 0 || offset >= length) {
+                line.read(position, row + offset * difference[0], column + offset * difference[1]);
+                if (offset < 0 && !line.covered[position]) {
+                    firstUncoveredLeading = Math.min(firstUncoveredLeading, position);
+                }
+            }
+        }
+        evaluateRun(line, 0, leadingTokens);
+        linePreviousScore = runScore;
+        evaluateRun(line, leadingTokens + length, runLength);
+        linePreviousScore += runScore;
+        setLeadingDepths();
+        generateSequences(0);
+    }
+
+    /**
+     * Reads the tokens across the line next to the given field of the current placement and scores the runs they
+     * form before the placement.
+     *
+     * @param index the index of the field in the placement
+     * @param difference the directional difference of the current orientation
+     *
+     * @return whether or not the field has a token next to it across the line
+     */
+    private boolean readCrossRun(final int index, final int[] difference) {
+        final int fieldRow = row + index * difference[0];
+        final int fieldColumn = column + index * difference[1];
+        // across the line the difference has swapped components
+        int before = 0;
+        while (isOccupied(fieldRow - (before + 1) * difference[1], fieldColumn - (before + 1) * difference[0])) {
+            before++;
+        }
+        int after = 0;
+        while (isOccupied(fieldRow + (after + 1) * difference[1], fieldColumn + (after + 1) * difference[0])) {
+            after++;
+        }
+        final Run run = crossRuns[index];
+        run.length = before + 1 + after;
+        run.ensureCapacity(run.length);
+        crossPositions[index] = before;
+        for (int position = 0; position < run.length; position++) {
+            final int offset = position - before;
+            if (offset != 0) {
+                run.read(position, fieldRow + offset * difference[1], fieldColumn + offset * difference[0]);
+            }
+        }
+        evaluateRun(run, 0, before);
+        crossPreviousScores[index] = runScore;
+        evaluateRun(run, before + 1, run.length);
+        crossPreviousScores[index] += runScore;
+        return run.length > 1;
+    }
+
+    /**
+     * Calculates the stack depth of every expression starting at one of the leading tokens of the current line when
+     * reaching the first placed token, {@link #FAILED} for expressions which are already invalid.
+     */
+    private void setLeadingDepths() {
+        for (int index = 0; index <= MAXIMUM_TOKENS; index++) {
+            if (startDepths[index].length < leadingTokens + length) {
+                startDepths[index] = new int[Math.max(leadingTokens + length, startDepths[index].length * 2)];
+            }
+        }
+        final int[] depths = startDepths[0];
+        for (int start = 0; start < leadingTokens; start++) {
+            int depth = 0;
+            for (int position = start; position < leadingTokens && depth != FAILED; position++) {
+                depth = push(depth, line.types[position]);
+            }
+            depths[start] = depth;
+        }
+    }
+
+    /**
+     * Chooses the token at the given index of the placement and continues with the next one.
+     *
+     * @param index the index of the token to choose
+     */
+    private void generateSequences(final int index) {
+        if (index == length) {
+            checkPlacement();
+            return;
+        }
+        final int[] depths = startDepths[index];
+        final int[] nextDepths = startDepths[index + 1];
+        final int lastStart = leadingTokens + index;
+        for (final TokenType tokenType : TOKEN_TYPES) {
+            if (tokenCounts[tokenType.ordinal()] == 0) {
+                continue;
+            }
+            int firstAlive = Integer.MAX_VALUE;
+            for (int start = 0; start <= lastStart; start++) {
+                nextDepths[start] = push(start == lastStart ? 0 : depths[start], tokenType);
+                if (nextDepths[start] != FAILED) {
+                    firstAlive = Math.min(firstAlive, start);
+                }
+            }
+            // the depths of the next index are only read by the recursion before they are overwritten again, and
+            // a leading token which is not part of an expression across the line needs an expression starting before
+            if (firstAlive <= firstUncoveredLeading && evaluateCross(index, tokenType)
+                && isCoverable(index, firstAlive)) {
+                sequence[index] = tokenType;
+                tokenCounts[tokenType.ordinal()]--;
+                generateSequences(index + 1);
+                tokenCounts[tokenType.ordinal()]++;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the run across the line containing the given token at the given index of the placement.
+     *
+     * @param index the index of the token in the placement
+     * @param tokenType the type of the token
+     *
+     * @return whether or not all tokens of the run on the board stay part of an expression
+     */
+    private boolean evaluateCross(final int index, final TokenType tokenType) {
+        final Run run = crossRuns[index];
+        final int position = crossPositions[index];
+        if (run.length == 1) {
+            crossCovered[index] = false;
+            crossDeltas[index] = 0;
+            return true;
+        }
+        run.types[position] = tokenType;
+        run.owners[position] = playerIndex;
+        final int coveredStart = evaluateRun(run, 0, run.length);
+        for (int other = 0; other < coveredStart; other++) {
+            if (other != position && !run.covered[other]) {
+                return false;
+            }
+        }
+        crossCovered[index] = position >= coveredStart;
+        crossDeltas[index] = runScore - crossPreviousScores[index];
+        return true;
+    }
+
+    /**
+     * Checks whether every chosen token can still be part of an expression. Tokens which are not part of an
+     * expression across the line can only be part of an expression of the line starting at or before them, which
+     * fails once an operator misses an operand.
+     *
+     * @param index the index of the last chosen token
+     * @param firstAlive the first start of an expression of the line which has not failed
+     *
+     * @return whether or not all chosen tokens can still be covered
+     */
+    private boolean isCoverable(final int index, final int firstAlive) {
+        for (int placed = 0; placed <= index; placed++) {
+            if (!crossCovered[placed] && firstAlive > leadingTokens + placed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the run of the line containing the chosen sequence and reports the placement if every token of the
+     * run is part of an expression.
+     */
+    private void checkPlacement() {
+        for (int index = 0; index < length; index++) {
+            line.types[leadingTokens + index] = sequence[index];
+            line.owners[leadingTokens + index] = playerIndex;
+        }
+        final int coveredStart = evaluateRun(line, 0, leadingTokens + length + trailingTokens);
+        for (int position = 0; position < coveredStart; position++) {
+            final int index = position - leadingTokens;
+            final boolean covered = index < 0 || index >= length
+                    ? line.covered[position]
+                    : crossCovered[index];
+            if (!covered) {
+                return;
+            }
+        }
+        int scoreDelta = runScore - linePreviousScore;
+        final Token[] tokens = new Token[length];
+        for (int index = 0; index < length; index++) {
+            scoreDelta += crossDeltas[index];
+            tokens[index] = player.getToken(sequence[index]);
+        }
+        consumer.accept(new ScoredMove(row, column, orientation, scoreDelta, tokens));
+    }
+
+    /**
+     * Evaluates the expressions of the given part of a run, which start at one of its tokens and end with it, as the
+     * board does. Sets {@link #runScore} to the sum of the values of the expressions owned by the player. The part is
+     * walked backwards tracking the stack depth and the owner of the expression starting at every token, so only the
+     * values of the valid expressions owned by the player are calculated.
+     *
+     * @param run the run
+     * @param start the first position of the part
+     * @param end the position behind the part
+     *
+     * @return the start of the first valid expression, which covers all following tokens, end if there is none
+     */
+    private int evaluateRun(final Run run, final int start, final int end) {
+        runScore = 0;
+        int coveredStart = end;
+        // the change of the stack depth from first to end and its minimum after any token
+        int depthChange = 0;
+        int minimumDepth = 0;
+        int owner = 0;
+        Arrays.fill(ownerTokenCounts, 0);
+        for (int first = end - 1; first >= start; first--) {
+            final int tokenChange = DEPTH_CHANGES[run.types[first].ordinal()];
+            depthChange += tokenChange;
+            minimumDepth = tokenChange + Math.min(0, minimumDepth);
+            owner = countOwner(run.owners[first], owner);
+            if (depthChange == 1 && minimumDepth >= 1
+                && end - first >= ExpressionEvaluator.MINIMUM_EXPRESSION_LENGTH) {
+                coveredStart = first;
+                if (owner == playerIndex) {
+                    runScore += calculate(run, first, end);
+                }
+            }
+        }
+        return coveredStart;
+    }
+
+    /**
+     * Counts a token of the given owner and returns the owner with the most tokens, the lowest owner wins a tie like
+     * in {@link ExpressionEvaluator#getOwner()}.
+     *
+     * @param tokenOwner the owner of the counted token
+     * @param owner the owner before counting the token
+     *
+     * @return the owner after counting the token
+     */
+    private int countOwner(final int tokenOwner, final int owner) {
+        if (tokenOwner >= ownerTokenCounts.length) {
+            ownerTokenCounts = Arrays.copyOf(ownerTokenCounts, tokenOwner + 1);
+        }
+        ownerTokenCounts[tokenOwner]++;
+        return ownerTokenCounts[tokenOwner] > ownerTokenCounts[owner]
+               || ownerTokenCounts[tokenOwner] == ownerTokenCounts[owner] && tokenOwner < owner
+                ? tokenOwner
+                : owner;
+    }
+
+    /**
+     * Calculates the value of the valid expression of the given run from first to end.
+     *
+     * @param run the run
+     * @param first the position of the first token of the expression
+     * @param end the position behind the expression
+     *
+     * @return the value of the expression
+     */
+    private int calculate(final Run run, final int first, final int end) {
+        if (values.length < end - first) {
+            values = new int[Math.max(end - first, values.length * 2)];
+        }
+        int depth = 0;
+        for (int position = first; position < end; position++) {
+            final TokenType tokenType = run.types[position];
+            if (DEPTH_CHANGES[tokenType.ordinal()] < 0) {
+                depth--;
+                values[depth - 1] = tokenType.calculate(values[depth - 1], values[depth]);
+            } else {
+                values[depth++] = tokenType.getValue();
+            }
+        }
+        return values[0];
+    }
+
+    /**
+     * Generates all placements of two operands followed by an operator at the current position, which form the only
+     * expressions of their lines.
+     */
+    private void generateIsolated() {
+        for (final TokenType firstOperand : TOKEN_TYPES) {
+            if (!firstOperand.isOperand() || tokenCounts[firstOperand.ordinal()] == 0) {
+                continue;
+            }
+            tokenCounts[firstOperand.ordinal()]--;
+            for (final TokenType secondOperand : TOKEN_TYPES) {
+                if (!secondOperand.isOperand() || tokenCounts[secondOperand.ordinal()] == 0) {
+                    continue;
+                }
+                for (final TokenType operator : TOKEN_TYPES) {
+                    if (operator.isOperator() && tokenCounts[operator.ordinal()] > 0) {
+                        consumer.accept(new ScoredMove(row, column, orientation,
+                                                       operator.calculate(firstOperand, secondOperand),
+                                                       player.getToken(firstOperand),
+                                                       player.getToken(secondOperand),
+                                                       player.getToken(operator)));
+                    }
+                }
+            }
+            tokenCounts[firstOperand.ordinal()]++;
+        }
+    }
+
+    private boolean isOccupied(final int fieldRow, final int fieldColumn) {
+        return board.get(fieldRow, fieldColumn) != null;
+    }
+
+    private boolean isInside(final int fieldRow, final int fieldColumn) {
+        return fieldRow >= 0 && fieldRow < board.getSize() && fieldColumn >= 0 && fieldColumn < board.getSize();
+    }
+
+    private boolean isAnchor(final int fieldRow, final int fieldColumn) {
+        for (final int[] neighbour : NEIGHBOURS) {
+            if (isOccupied(fieldRow + neighbour[0], fieldColumn + neighbour[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A run of consecutive tokens of a line or column as read from the board, with the fields of the current
+     * placement filled in by the generator.
+     */
+    private final class Run {
+        private TokenType[] types = new TokenType[INITIAL_RUN_CAPACITY];
+        private int[] owners = new int[INITIAL_RUN_CAPACITY];
+        /**
+         * For every token read from the board whether or not it is part of an expression of its other line.
+         */
+        private boolean[] covered = new boolean[INITIAL_RUN_CAPACITY];
+        private int length;
+
+        private void ensureCapacity(final int capacity) {
+            if (types.length < capacity) {
+                final int newCapacity = Math.max(capacity, types.length * 2);
+                types = Arrays.copyOf(types, newCapacity);
+                owners = Arrays.copyOf(owners, newCapacity);
+                covered = Arrays.copyOf(covered, newCapacity);
+            }
+        }
+
+        /**
+         * Reads the token on the given field to the given position of this run.
+         *
+         * @param position the position in this run
+         * @param fieldRow the row of the token
+         * @param fieldColumn the column of the token
+         */
+        private void read(final int position, final int fieldRow, final int fieldColumn) {
+            final Token token = board.get(fieldRow, fieldColumn);
+            types[position] = token.getTokenType();
+            owners[position] = token.getPlayer().getIndex();
+            // the run lies in the other orientation than the line of the token which stays unchanged
+            covered[position] = board.isCovered(this == line ? crossOrientation : orientation, fieldRow, fieldColumn);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.game.GameBoard;
+import edu.kit.informatik.scrabble.game.Move;
+import edu.kit.informatik.scrabble.game.Zobrist;
+
+/**
+ * Encapsulates the complete state of a game used for searching: the board, the bags of all players as token counts
+ * and the player to move. Moves are applied and reverted in place, a position must not be shared between threads.
+ * The hash of a position extends the hash of its board by the keys of the player to move and the contents of all
+ * bags, which are updated with every applied or reverted move.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class Position {
+    private final GameBoard board;
+    private final Player[] players;
+    private final int[][] tokenCounts;
+    private int activeSeat;
+    /**
+     * The Zobrist hash of the player to move and the bags.
+     */
+    private long stateHash;
+
+    /**
+     * Instantiates a new {@link Position} with the given parameters.
+     *
+     * @param board the board which is changed by this position
+     * @param players the players in the order of their turns
+     * @param tokenCounts the token counts of the bags of the players as given by {@link MoveGenerator#countTokens}
+     * @param activeSeat the index of the player to move in the given array
+     */
+    public Position(final GameBoard board, final Player[] players, final int[][] tokenCounts, final int activeSeat) {
+        this.board = board;
+        this.players = players.clone();
+        this.tokenCounts = new int[tokenCounts.length][];
+        for (int seat = 0; seat < tokenCounts.length; seat++) {
+            this.tokenCounts[seat] = tokenCounts[seat].clone();
+            for (int type = 0; type < tokenCounts[seat].length; type++) {
+                stateHash ^= getBagKey(seat, type);
+            }
+        }
+        this.activeSeat = activeSeat;
+        stateHash ^= getActiveSeatKey();
+    }
+
+    /**
+     * Creates a position containing the current state of the given game. The game is not changed by the position.
+     *
+     * @param game the game
+     *
+     * @return the current position of the given game
+     */
+    public static Position of(final ArithmeticScrabble game) {
+        final Player[] players = game.getPlayers();
+        final int[][] tokenCounts = new int[players.length][];
+        int activeSeat = 0;
+        for (int seat = 0; seat < players.length; seat++) {
+            tokenCounts[seat] = players[seat].getTokenCounts();
+            if (players[seat].equals(game.getActivePlayer())) {
+                activeSeat = seat;
+            }
+        }
+        return new Position(game.copyBoard(), players, tokenCounts, activeSeat);
+    }
+
+    /**
+     * Copies this position, the copy does not share any mutable state with this position.
+     *
+     * @return a copy of this position
+     */
+    public Position copy() {
+        return new Position(board.cloneBoard(), players, tokenCounts, activeSeat);
+    }
+
+    /**
+     * Places the given legal move of the player to move and passes the turn to the next player.
+     *
+     * @param move the move to apply
+     */
+    public void apply(final Move move) {
+        final Token[] tokens = move.getTokens();
+        for (int index = 0; index < tokens.length; index++) {
+            board.add(move.getRow(index), move.getColumn(index), tokens[index]);
+            changeTokenCount(tokens[index].getTokenType().ordinal(), -1);
+        }
+        board.commit();
+        changeActiveSeat(1);
+    }
+
+    /**
+     * Reverts the given move, which must be the last move applied to this position.
+     *
+     * @param move the move to revert
+     */
+    public void revert(final Move move) {
+        changeActiveSeat(players.length - 1);
+        final Token[] tokens = move.getTokens();
+        for (int index = 0; index < tokens.length; index++) {
+            board.remove(move.getRow(index), move.getColumn(index));
+            changeTokenCount(tokens[index].getTokenType().ordinal(), 1);
+        }
+        board.commit();
+    }
+
+    private void changeTokenCount(final int type, final int difference) {
+        stateHash ^= getBagKey(activeSeat, type);
+        tokenCounts[activeSeat][type] += difference;
+        stateHash ^= getBagKey(activeSeat, type);
+    }
+
+    private void changeActiveSeat(final int difference) {
+        stateHash ^= getActiveSeatKey();
+        activeSeat = (activeSeat + difference) % players.length;
+        stateHash ^= getActiveSeatKey();
+    }
+
+    private long getBagKey(final int seat, final int type) {
+        return Zobrist.key(Zobrist.BAG, (long) seat * tokenCounts[seat].length + type, tokenCounts[seat][type]);
+    }
+
+    private long getActiveSeatKey() {
+        return Zobrist.key(Zobrist.ACTIVE_SEAT, activeSeat, 0);
+    }
+
+    /**
+     * Returns the Zobrist hash of this position. Positions with equal boards, bags and players to move have equal
+     * hashes, regardless of the moves leading to them.
+     *
+     * @return the hash of this position
+     */
+    public long getHash() {
+        return board.getHash() ^ stateHash;
+    }
+
+    /**
+     * The board of this position.
+     *
+     * @return the board, which must only be changed through this position
+     */
+    public GameBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * The number of players of this position.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * The player at the given seat.
+     *
+     * @param seat the index of the player in the order of turns
+     *
+     * @return the player at the given seat
+     */
+    public Player getPlayer(final int seat) {
+        return players[seat];
+    }
+
+    /**
+     * The seat of the player to move.
+     *
+     * @return the index of the player to move in the order of turns
+     */
+    public int getActiveSeat() {
+        return activeSeat;
+    }
+
+    /**
+     * The token counts of the bag of the player at the given seat.
+     *
+     * @param seat the index of the player in the order of turns
+     *
+     * @return the token counts indexed by the ordinal of the token types, which must not be changed
+     */
+    public int[] getTokenCounts(final int seat) {
+        return tokenCounts[seat];
+    }
+
+    /**
+     * Rates this position for the player at the given seat as the difference between the score of the player and
+     * the highest score of the other players.
+     *
+     * @param seat the index of the player in the order of turns
+     *
+     * @return the rating of this position for the given player
+     */
+    public long rate(final int seat) {
+        long bestOpponentScore = Integer.MIN_VALUE;
+        for (int opponent = 0; opponent < players.length; opponent++) {
+            if (opponent != seat) {
+                bestOpponentScore = Math.max(bestOpponentScore, board.getScore(players[opponent]));
+            }
+        }
+        final long score = board.getScore(players[seat]);
+        return players.length == 1
+                ? score
+                : score - bestOpponentScore;
+    }
+}
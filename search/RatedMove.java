@@ -0,0 +1,57 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+/**
+ * Encapsulates a move found by the {@link SearchEngine} together with its rating.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class RatedMove implements Comparable<RatedMove> {
+    private final ScoredMove move;
+    private final long rating;
+
+    /**
+     * Instantiates a new {@link RatedMove} with the given parameters.
+     *
+     * @param move the rated move
+     * @param rating the rating of the position reached by the move for the player making it
+     */
+    public RatedMove(final ScoredMove move, final long rating) {
+        this.move = move;
+        this.rating = rating;
+    }
+
+    /**
+     * The rated move.
+     *
+     * @return the move
+     */
+    public ScoredMove getMove() {
+        return move;
+    }
+
+    /**
+     * The rating of this move as given by {@link Position#rate(int)} at the end of the searched variation.
+     *
+     * @return the rating of this move for the player making it
+     */
+    public long getRating() {
+        return rating;
+    }
+
+    /**
+     * Orders the moves by descending rating, equal ratings by descending score delta.
+     */
+    @Override public int compareTo(final RatedMove o) {
+        if (rating != o.rating) {
+            return Long.compare(o.rating, rating);
+        }
+        return Integer.compare(o.move.getScoreDelta(), move.getScoreDelta());
+    }
+
+    @Override public String toString() {
+        return move + " rated " + rating;
+    }
+}
@@ -0,0 +1,45 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.Token;
+import edu.kit.informatik.scrabble.game.Move;
+
+/**
+ * Encapsulates a legal {@link Move} together with the change of the score of the player making it.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class ScoredMove extends Move {
+    private final int scoreDelta;
+
+    /**
+     * Instantiates a new {@link ScoredMove} with the given parameters.
+     *
+     * @param row the row the tokens placed start at
+     * @param column the column the tokens placed start at
+     * @param orientation the orientation of the tokens
+     * @param scoreDelta the change of the score of the player making this move
+     * @param tokens the tokens placed in the given order
+     */
+    public ScoredMove(final int row, final int column, final Orientation orientation, final int scoreDelta,
+            final Token... tokens) {
+        super(row, column, orientation, tokens);
+        this.scoreDelta = scoreDelta;
+    }
+
+    /**
+     * The change of the score of the player making this move.
+     *
+     * @return the score of the player after this move minus the score before it
+     */
+    public int getScoreDelta() {
+        return scoreDelta;
+    }
+
+    @Override public String toString() {
+        return super.toString() + " " + scoreDelta;
+    }
+}
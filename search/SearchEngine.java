@@ -0,0 +1,173 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches the best move of the player to move within a time budget. The search deepens iteratively, every iteration
+ * rates all root moves by searching one move further ahead than the previous one with {@link AlphaBeta}. The root
+ * moves are rated in parallel, each on its own copy of the position, and are ordered by the ratings of the previous
+ * iteration. All threads share a {@link TranspositionTable}, which is kept between iterations and searches. An
+ * iteration which is interrupted by the deadline is discarded, so the result always comes from the deepest completed
+ * iteration.
+ * <p>
+ * An engine can be used by several threads at once, it has to be shut down with {@link #shutdown()} once it is not
+ * needed anymore.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class SearchEngine {
+    /**
+     * The default maximum number of moves searched in every position below the root.
+     */
+    public static final int DEFAULT_BRANCHING = 12;
+    /**
+     * The default number of positions stored in the transposition table.
+     */
+    public static final int DEFAULT_TABLE_CAPACITY = 1 << 18;
+    private final ForkJoinPool pool;
+    private final int maximumBranching;
+    private final TranspositionTable table;
+
+    /**
+     * Instantiates a new {@link SearchEngine} using all available processors, the default branching and a
+     * transposition table with the default capacity.
+     */
+    public SearchEngine() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_BRANCHING,
+             new TranspositionTable(DEFAULT_TABLE_CAPACITY));
+    }
+
+    /**
+     * Instantiates a new {@link SearchEngine} with the given parameters.
+     *
+     * @param parallelism the number of threads rating root moves
+     * @param maximumBranching the maximum number of moves with the highest score deltas searched in every position
+     *         below the root
+     * @param table the table storing the results of searched positions, which is kept between searches
+     */
+    public SearchEngine(final int parallelism, final int maximumBranching, final TranspositionTable table) {
+        if (parallelism < 1 || maximumBranching < 1) {
+            throw new IllegalArgumentException("parallelism and branching have to be positive");
+        }
+        pool = new ForkJoinPool(parallelism);
+        this.maximumBranching = maximumBranching;
+        this.table = table;
+    }
+
+    /**
+     * Searches the best moves of the player to move in the given position.
+     *
+     * @param position the position, which is not changed
+     * @param timeBudget the time in milliseconds after which the search is abandoned
+     * @param alternatives the number of best moves to return
+     *
+     * @return the best moves found within the time budget, which are rated after one move at least
+     */
+    public SearchResult search(final Position position, final long timeBudget, final int alternatives) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget);
+        final int rootSeat = position.getActiveSeat();
+        final Position root = position.copy();
+        // the first iteration rates every move directly and is always completed
+        final List<RatedMove> rated = new ArrayList<>();
+        for (final ScoredMove move : AlphaBeta.getBestMoves(root, new MoveGenerator(root.getBoard()),
+                                                             Integer.MAX_VALUE)) {
+            root.apply(move);
+            rated.add(new RatedMove(move, root.rate(rootSeat)));
+            root.revert(move);
+        }
+        Collections.sort(rated);
+        List<RatedMove> completed = rated;
+        long nodes = rated.size();
+        int depth = 1;
+        final int maximumDepth = getRemainingTokens(root);
+        final int rootBranching = Math.max(maximumBranching, alternatives);
+        while (depth < maximumDepth && !completed.isEmpty()) {
+            final AlphaBeta search = new AlphaBeta(rootSeat, maximumBranching, table, deadline);
+            final List<RatedMove> iteration = searchIteration(search, root,
+                                                              completed.subList(0, Math.min(rootBranching,
+                                                                                            completed.size())),
+                                                              depth + 1);
+            nodes += search.getNodes();
+            if (search.isExpired()) {
+                break;
+            }
+            completed = iteration;
+            depth++;
+        }
+        return new SearchResult(new ArrayList<>(completed.subList(0, Math.min(alternatives, completed.size()))),
+                                depth, nodes);
+    }
+
+    private List<RatedMove> searchIteration(final AlphaBeta search, final Position root,
+            final List<RatedMove> moves, final int depth) {
+        final List<RootMoveTask> tasks = new ArrayList<>();
+        for (final RatedMove move : moves) {
+            tasks.add(new RootMoveTask(search, root.copy(), move.getMove(), depth));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+        final List<RatedMove> rated = new ArrayList<>();
+        for (final RootMoveTask task : tasks) {
+            rated.add(new RatedMove(task.move, task.join()));
+        }
+        Collections.sort(rated);
+        return rated;
+    }
+
+    /**
+     * Every move places at least one token, so the game cannot last longer than the number of remaining tokens.
+     */
+    private static int getRemainingTokens(final Position position) {
+        int tokens = 0;
+        for (int seat = 0; seat < position.getPlayerCount(); seat++) {
+            for (final int count : position.getTokenCounts(seat)) {
+                tokens += count;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Stops the threads of this engine, running searches are completed.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Rates a single root move on its own copy of the root position.
+     */
+    private static final class RootMoveTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final transient AlphaBeta search;
+        private final transient Position position;
+        private final transient ScoredMove move;
+        private final int depth;
+
+        RootMoveTask(final AlphaBeta search, final Position position, final ScoredMove move, final int depth) {
+            this.search = search;
+            this.position = position;
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override protected Long compute() {
+            position.apply(move);
+            return search.search(position, new MoveGenerator(position.getBoard()), depth - 1, Long.MIN_VALUE,
+                                 Long.MAX_VALUE);
+        }
+    }
+}
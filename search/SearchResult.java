@@ -0,0 +1,73 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Encapsulates the result of a search of the {@link SearchEngine}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class SearchResult {
+    private final List<RatedMove> moves;
+    private final int depth;
+    private final long nodes;
+
+    /**
+     * Instantiates a new {@link SearchResult} with the given parameters.
+     *
+     * @param moves the best moves ordered by descending rating
+     * @param depth the depth of the last completed iteration
+     * @param nodes the number of positions visited
+     */
+    public SearchResult(final List<RatedMove> moves, final int depth, final long nodes) {
+        this.moves = Collections.unmodifiableList(moves);
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    /**
+     * The best move found.
+     *
+     * @return the best move, null if the player to move has no legal move
+     */
+    public RatedMove getBestMove() {
+        return moves.isEmpty()
+                ? null
+                : moves.get(0);
+    }
+
+    /**
+     * The best moves found, the best move first.
+     *
+     * @return an unmodifiable list of the best moves ordered by descending rating
+     */
+    public List<RatedMove> getMoves() {
+        return moves;
+    }
+
+    /**
+     * The depth of the last completed iteration, which the ratings are based on.
+     *
+     * @return the number of moves searched ahead
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * The number of positions visited by the search.
+     *
+     * @return the number of visited positions
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override public String toString() {
+        return "depth " + depth + ", nodes " + nodes + ", moves " + moves;
+    }
+}
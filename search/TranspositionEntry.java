@@ -0,0 +1,67 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+/**
+ * Encapsulates the stored result of searching a position, as returned by {@link TranspositionTable#probe(long)}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class TranspositionEntry {
+    private final int depth;
+    private final Bound bound;
+    private final long rating;
+    private final int bestMoveIndex;
+
+    /**
+     * Instantiates a new {@link TranspositionEntry} with the given parameters.
+     *
+     * @param depth the number of moves searched ahead
+     * @param bound the relation of the rating to the actual rating
+     * @param rating the rating of the position
+     * @param bestMoveIndex the index of the best move in the ordered moves of the position, -1 if there is none
+     */
+    public TranspositionEntry(final int depth, final Bound bound, final long rating, final int bestMoveIndex) {
+        this.depth = depth;
+        this.bound = bound;
+        this.rating = rating;
+        this.bestMoveIndex = bestMoveIndex;
+    }
+
+    /**
+     * The number of moves the position was searched ahead.
+     *
+     * @return the depth of the search
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * The relation of the stored rating to the actual rating.
+     *
+     * @return the bound of the rating
+     */
+    public Bound getBound() {
+        return bound;
+    }
+
+    /**
+     * The stored rating of the position.
+     *
+     * @return the rating
+     */
+    public long getRating() {
+        return rating;
+    }
+
+    /**
+     * The index of the best move found in the moves of the position ordered by descending score delta.
+     *
+     * @return the index of the best move, -1 if there is none
+     */
+    public int getBestMoveIndex() {
+        return bestMoveIndex;
+    }
+}
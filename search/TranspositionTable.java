@@ -0,0 +1,133 @@
+
+
+package edu.kit.informatik.scrabble.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores the results of searched positions by their Zobrist hash in a fixed number of slots. The table is shared by
+ * all threads of a search without any locking: every slot consists of three longs, the rating, the packed remaining
+ * data and a check value which is the exclusive or of both with the hash. A slot which is read while another thread
+ * writes it, or which belongs to another position, fails the check and is treated as missing. Slots are replaced by
+ * newer results unless they hold a deeper result of the same position.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class TranspositionTable {
+    private static final int SLOT_LENGTH = 3;
+    private static final int DEPTH_BITS = 16;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final int BOUND_SHIFT = DEPTH_BITS;
+    private static final long BOUND_MASK = 0x3;
+    private static final int MOVE_SHIFT = Integer.SIZE;
+    private static final Bound[] BOUNDS = Bound.values();
+    private final long[] slots;
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Instantiates a new {@link TranspositionTable} with the given minimum capacity, which is rounded up to a power
+     * of two.
+     *
+     * @param capacity the minimum number of positions which can be stored
+     */
+    public TranspositionTable(final int capacity) {
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE / SLOT_LENGTH + 1) / 2) {
+            throw new IllegalArgumentException("invalid capacity " + capacity);
+        }
+        final int slotCount = Integer.highestOneBit(capacity) == capacity
+                ? capacity
+                : Integer.highestOneBit(capacity) << 1;
+        slots = new long[slotCount * SLOT_LENGTH];
+        mask = slotCount - 1;
+    }
+
+    private int getOffset(final long hash) {
+        return ((int) (hash ^ (hash >>> Integer.SIZE)) & mask) * SLOT_LENGTH;
+    }
+
+    /**
+     * Returns the stored result of the position with the given hash.
+     *
+     * @param hash the hash of the position
+     *
+     * @return the stored result, null if there is none
+     */
+    public TranspositionEntry probe(final long hash) {
+        probes.increment();
+        final int offset = getOffset(hash);
+        final long check = slots[offset];
+        final long rating = slots[offset + 1];
+        final long data = slots[offset + 2];
+        if ((check ^ rating ^ data) != hash || data == 0) {
+            return null;
+        }
+        hits.increment();
+        return new TranspositionEntry((int) (data & DEPTH_MASK), BOUNDS[(int) ((data >>> BOUND_SHIFT) & BOUND_MASK)],
+                                      rating, (int) (data >>> MOVE_SHIFT) - 1);
+    }
+
+    /**
+     * Stores the result of searching the position with the given hash.
+     *
+     * @param hash the hash of the position
+     * @param depth the number of moves searched ahead, between one and 65535
+     * @param bound the relation of the rating to the actual rating
+     * @param rating the rating of the position
+     * @param bestMoveIndex the index of the best move in the ordered moves of the position, -1 if there is none
+     */
+    public void store(final long hash, final int depth, final Bound bound, final long rating,
+            final int bestMoveIndex) {
+        final int offset = getOffset(hash);
+        final long storedData = slots[offset + 2];
+        if ((slots[offset] ^ slots[offset + 1] ^ storedData) == hash && (storedData & DEPTH_MASK) > depth) {
+            return;
+        }
+        final long data = Math.min(depth, DEPTH_MASK) | ((long) bound.ordinal() << BOUND_SHIFT)
+                          | ((long) (bestMoveIndex + 1) << MOVE_SHIFT);
+        slots[offset + 1] = rating;
+        slots[offset + 2] = data;
+        slots[offset] = hash ^ rating ^ data;
+    }
+
+    /**
+     * Removes all stored results. Must not be called during a search.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+    }
+
+    /**
+     * The number of positions which can be stored.
+     *
+     * @return the capacity of this table
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * The number of probes since this table was created.
+     *
+     * @return the number of probes
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * The number of probes which found a stored result since this table was created.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override public String toString() {
+        return "capacity " + getCapacity() + ", probes " + getProbes() + ", hits " + getHits();
+    }
+}
@@ -0,0 +1,146 @@
+
+
+package edu.kit.informatik.scrabble.server;
+
+import edu.kit.informatik.scrabble.GameException;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.journal.JournalSession;
+import edu.kit.informatik.scrabble.ui.Command;
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves a single connection of the {@link GameDaemon}. The first line of the client contains the token lists of
+ * the players separated by spaces, as given to {@link Main#main(String[])}, and starts the game of the connection.
+ * Every following line is executed as a {@link Command}, its output is written back exactly as {@link Main} prints
+ * it. If the daemon records its games, the output of a command is written once the changes of the game are durable.
+ * The connection is closed once the game is quit or the client disconnects.
+ *
+ * <p>If the daemon records its games, the line {@code session} answers the session of the game in the journal.
+ * Instead of the token lists, the first line {@code resume <session>} continues the game with the given session,
+ * which was either left by a closed connection or replayed from the journal when the daemon started.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class GameConnection implements Runnable {
+    private static final String RESUME_PREFIX = "resume ";
+    private static final String SESSION = "session";
+    private final SocketChannel channel;
+    private final GameDaemon daemon;
+
+    /**
+     * Instantiates a new {@link GameConnection} with the given parameters.
+     *
+     * @param channel the connected channel
+     * @param daemon the daemon which accepted the connection
+     */
+    GameConnection(final SocketChannel channel, final GameDaemon daemon) {
+        this.channel = channel;
+        this.daemon = daemon;
+    }
+
+    @Override public void run() {
+        daemon.sessionStarted();
+        ArithmeticScrabble scrabble = null;
+        JournalSession session = null;
+        try (SocketChannel connection = channel;
+             BufferedReader input = new BufferedReader(
+                     new InputStreamReader(Channels.newInputStream(connection), StandardCharsets.UTF_8));
+             BufferedWriter output = new BufferedWriter(
+                     new OutputStreamWriter(Channels.newOutputStream(connection), StandardCharsets.UTF_8))) {
+            final String first = input.readLine();
+            if (first == null) {
+                return;
+            }
+            if (first.startsWith(RESUME_PREFIX)) {
+                final long resumed = parseSession(first.substring(RESUME_PREFIX.length()));
+                scrabble = daemon.resume(resumed);
+                if (scrabble == null) {
+                    writeLine(output, Main.ERROR + "there is no suspended game with the session "
+                                      + first.substring(RESUME_PREFIX.length()));
+                    return;
+                }
+                session = daemon.reattach(resumed, scrabble);
+            } else {
+                final String[] playerRepresentations = first.split(Main.COMMAND_SEPARATOR);
+                try {
+                    Main.checkPlayerCount(playerRepresentations.length);
+                    scrabble = new ArithmeticScrabble(playerRepresentations);
+                } catch (final GameException exception) {
+                    writeLine(output, Main.ERROR + exception.getMessage());
+                    return;
+                }
+                session = daemon.attach(scrabble);
+            }
+            while (scrabble.isActive()) {
+                final String line = input.readLine();
+                if (line == null) {
+                    return;
+                }
+                if (SESSION.equals(line) && session != null) {
+                    output.write(String.valueOf(session.getSession()));
+                    output.write(Main.LINE_SEPARATOR);
+                } else {
+                    execute(line, scrabble, output);
+                }
+                if (session != null) {
+                    session.awaitDurable();
+                }
+                // an output is only written before its changes are durable if it exceeds the buffer, which only the
+                // board and the bags can, and printing them changes nothing
+                output.flush();
+            }
+        } catch (final IOException exception) {
+            // the client disconnected or the journal failed
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (session != null) {
+                // a game recorded in the journal is kept until a connection resumes it
+                daemon.suspend(session.getSession(), scrabble);
+            }
+            daemon.sessionEnded();
+        }
+    }
+
+    private static long parseSession(final String session) {
+        try {
+            return Long.parseLong(session);
+        } catch (final NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * Executes the given line and writes its output into the buffer of the given writer, so the board of a print
+     * command is not copied to a String.
+     */
+    private static void execute(final String line, final ArithmeticScrabble scrabble, final BufferedWriter output)
+            throws IOException {
+        try {
+            Command.executeCommand(line, scrabble, output, Main.EMPTY_STRING);
+        } catch (final GameException exception) {
+            output.write(Main.ERROR + exception.getMessage());
+            output.write(Main.LINE_SEPARATOR);
+        } catch (final RuntimeException exception) {
+            // a failing command must neither close the connection nor leave the client waiting for a line
+            output.write(Main.ERROR + exception.getMessage());
+            output.write(Main.LINE_SEPARATOR);
+        }
+    }
+
+    private static void writeLine(final BufferedWriter output, final String line) throws IOException {
+        output.write(line);
+        output.write(Main.LINE_SEPARATOR);
+        output.flush();
+    }
+}
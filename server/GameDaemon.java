@@ -0,0 +1,423 @@
+
+
+package edu.kit.informatik.scrabble.server;
+
+import edu.kit.informatik.Terminal;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
+import edu.kit.informatik.scrabble.journal.JournalReplay;
+import edu.kit.informatik.scrabble.journal.JournalSession;
+import edu.kit.informatik.scrabble.journal.MoveJournal;
+import edu.kit.informatik.scrabble.metrics.EngineMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A long-lived server hosting any number of games in one virtual machine, one per connection, as described in
+ * {@link GameConnection}. Listens on a Unix domain socket or on a TCP port of the loopback interface. Every
+ * connection is served by its own thread, which is a virtual thread if the virtual machine supports them, so the
+ * number of concurrent sessions is not limited by the number of platform threads. If the daemon has a
+ * {@link MoveJournal}, every game is attached to it and the output of a command is only written once its changes
+ * are durable. The active games replayed from the journal when the daemon starts, and the games of connections
+ * which were closed before their game ended, are kept until a connection resumes them by their session. At most
+ * {@link #MAXIMUM_SUSPENDED} games are kept for at most {@link #SUSPENDED_MINUTES} minutes each, the oldest games are
+ * quit first, so the journal drops them when it is compacted the next time the daemon starts.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class GameDaemon implements Closeable {
+    /**
+     * The prefix of the address of a Unix domain socket, followed by the path of the socket.
+     */
+    public static final String UNIX_PREFIX = "unix:";
+    /**
+     * The prefix of the address of a TCP socket on the loopback interface, followed by the port.
+     */
+    public static final String TCP_PREFIX = "tcp:";
+    private static final String VIRTUAL_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+    private static final int SHUTDOWN_SECONDS = 5;
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+    /**
+     * The maximum number of suspended games.
+     */
+    static final int MAXIMUM_SUSPENDED = 1 << 14;
+    /**
+     * The number of minutes a game is kept after it has been suspended.
+     */
+    static final long SUSPENDED_MINUTES = 60;
+    private final ServerSocketChannel server;
+    private final Path socketPath;
+    private final ExecutorService executor = createExecutor();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final MoveJournal journal;
+    private final ReentrantLock suspendedLock = new ReentrantLock();
+    /**
+     * The suspended games by their session in the order they were suspended.
+     */
+    private final Map<Long, SuspendedGame> suspended = new LinkedHashMap<>();
+
+    /**
+     * Instantiates a new {@link GameDaemon} listening on the given address without a journal.
+     *
+     * @param address the address starting with {@link #UNIX_PREFIX} or {@link #TCP_PREFIX}
+     *
+     * @throws IOException occurs if the socket cannot be bound
+     */
+    public GameDaemon(final String address) throws IOException {
+        this(address, null);
+    }
+
+    /**
+     * Instantiates a new {@link GameDaemon} listening on the given address and recording all games in the given
+     * journal, which is closed together with the daemon.
+     *
+     * @param address the address starting with {@link #UNIX_PREFIX} or {@link #TCP_PREFIX}
+     * @param journal the journal recording the games, null to record nothing
+     *
+     * @throws IOException occurs if the socket cannot be bound
+     */
+    public GameDaemon(final String address, final MoveJournal journal) throws IOException {
+        this(address, journal, Collections.emptyMap());
+    }
+
+    /**
+     * Instantiates a new {@link GameDaemon} listening on the given address and recording all games in the given
+     * journal, which is closed together with the daemon. The given games restored from the journal can be resumed
+     * by their session, games which have been quit or ended are dropped.
+     *
+     * @param address the address starting with {@link #UNIX_PREFIX} or {@link #TCP_PREFIX}
+     * @param journal the journal recording the games, null to record nothing
+     * @param restored the games replayed from the journal by their session
+     *
+     * @throws IOException occurs if the socket cannot be bound
+     */
+    public GameDaemon(final String address, final MoveJournal journal, final Map<Long, ArithmeticScrabble> restored)
+            throws IOException {
+        this.journal = journal;
+        if (journal != null) {
+            final long now = System.nanoTime();
+            // the oldest sessions are suspended first, so they are evicted first
+            for (final Map.Entry<Long, ArithmeticScrabble> game : new TreeMap<>(restored).entrySet()) {
+                if (isResumable(game.getValue())) {
+                    suspended.put(game.getKey(), new SuspendedGame(game.getValue(), now));
+                }
+            }
+            evictSuspended();
+        }
+        final SocketAddress socketAddress;
+        if (address.startsWith(UNIX_PREFIX)) {
+            socketPath = Paths.get(address.substring(UNIX_PREFIX.length()));
+            removeStaleSocket(socketPath);
+            socketAddress = UnixDomainSocketAddress.of(socketPath);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else if (address.startsWith(TCP_PREFIX)) {
+            socketPath = null;
+            socketAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                                  Integer.parseInt(address.substring(TCP_PREFIX.length())));
+            server = ServerSocketChannel.open(StandardProtocolFamily.INET);
+        } else {
+            throw new IllegalArgumentException("invalid address " + address);
+        }
+        server.bind(socketAddress);
+    }
+
+    /**
+     * Deletes the socket file with the given path if it was left behind by a previous daemon, which prevents
+     * binding. The file is only deleted if it is a socket on which no daemon accepts connections anymore.
+     */
+    private static void removeStaleSocket(final Path path) throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        if (!Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+            throw new IOException(path + " exists and is not a socket");
+        }
+        final SocketChannel probe;
+        try {
+            probe = SocketChannel.open(UnixDomainSocketAddress.of(path));
+        } catch (final ConnectException exception) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        probe.close();
+        throw new IOException("another daemon listens on " + path);
+    }
+
+    /**
+     * Creates an executor starting a virtual thread for every task if the virtual machine supports them, which is
+     * looked up reflectively so the daemon runs on older virtual machines as well, and a thread pool otherwise.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_EXECUTOR_FACTORY).invoke(null);
+        } catch (final ReflectiveOperationException exception) {
+            return Executors.newCachedThreadPool(task -> {
+                final Thread thread = new Thread(task, "game-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Accepts connections until the daemon is closed. If accepting a connection fails, e.g. because the process ran
+     * out of file descriptors, the failure is printed and the daemon waits before accepting again, the longer the
+     * more often in a row accepting failed.
+     */
+    public void serve() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            final SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (final ClosedChannelException exception) {
+                return;
+            } catch (final IOException exception) {
+                Terminal.printError("accepting a connection failed: " + exception.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                continue;
+            }
+            backoff = MIN_BACKOFF_MILLIS;
+            executor.execute(new GameConnection(channel, this));
+        }
+    }
+
+    /**
+     * The address the daemon listens on.
+     *
+     * @return the bound address
+     *
+     * @throws IOException occurs if the address cannot be read
+     */
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * The number of connections which are currently served.
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Attaches the given game to the journal of this daemon.
+     *
+     * @param game the game of a connection
+     *
+     * @return the session of the game in the journal, null if this daemon has no journal
+     */
+    JournalSession attach(final ArithmeticScrabble game) {
+        return journal == null
+                ? null
+                : journal.attach(game);
+    }
+
+    /**
+     * Takes the suspended game with the given session.
+     *
+     * @param session the session of the game
+     *
+     * @return the game, null if no game with the given session is suspended
+     */
+    ArithmeticScrabble resume(final long session) {
+        suspendedLock.lock();
+        try {
+            evictSuspended();
+            final SuspendedGame game = suspended.remove(session);
+            return game == null
+                    ? null
+                    : game.game;
+        } finally {
+            suspendedLock.unlock();
+        }
+    }
+
+    /**
+     * Attaches the given resumed game to the journal of this daemon again.
+     *
+     * @param session the session of the game in the journal
+     * @param game the game returned by {@link #resume(long)}
+     *
+     * @return the session of the game in the journal
+     */
+    JournalSession reattach(final long session, final ArithmeticScrabble game) {
+        return journal.resume(session, game);
+    }
+
+    /**
+     * Keeps the given game until it is resumed or evicted if it has neither been quit nor ended.
+     *
+     * @param session the session of the game in the journal
+     * @param game the game
+     */
+    void suspend(final long session, final ArithmeticScrabble game) {
+        if (!isResumable(game)) {
+            return;
+        }
+        suspendedLock.lock();
+        try {
+            suspended.put(session, new SuspendedGame(game, System.nanoTime()));
+            evictSuspended();
+        } finally {
+            suspendedLock.unlock();
+        }
+    }
+
+    private static boolean isResumable(final ArithmeticScrabble game) {
+        return game.isActive() && !game.hasEnded();
+    }
+
+    /**
+     * Quits and drops the suspended games which have been kept for more than {@link #SUSPENDED_MINUTES} minutes
+     * and the oldest games beyond {@link #MAXIMUM_SUSPENDED}. Quitting a game records it in the journal, so the
+     * game is not restored again.
+     */
+    private void evictSuspended() {
+        final long now = System.nanoTime();
+        final Iterator<SuspendedGame> games = suspended.values().iterator();
+        while (games.hasNext()) {
+            final SuspendedGame game = games.next();
+            if (suspended.size() <= MAXIMUM_SUSPENDED
+                    && now - game.suspendedAt < TimeUnit.MINUTES.toNanos(SUSPENDED_MINUTES)) {
+                return;
+            }
+            game.game.quit();
+            games.remove();
+        }
+    }
+
+    /**
+     * The number of suspended games which can be resumed.
+     *
+     * @return the number of suspended games
+     */
+    public int getSuspendedGames() {
+        suspendedLock.lock();
+        try {
+            return suspended.size();
+        } finally {
+            suspendedLock.unlock();
+        }
+    }
+
+    /**
+     * Called by a connection once it is served.
+     */
+    void sessionStarted() {
+        activeSessions.incrementAndGet();
+    }
+
+    /**
+     * Called by a connection once it is closed.
+     */
+    void sessionEnded() {
+        activeSessions.decrementAndGet();
+    }
+
+    /**
+     * Stops accepting connections and waits shortly for the active sessions to finish.
+     *
+     * @throws IOException occurs if the socket cannot be closed
+     */
+    @Override public void close() throws IOException {
+        server.close();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        if (socketPath != null) {
+            Files.deleteIfExists(socketPath);
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Starts a daemon listening on the given address until the virtual machine is stopped. The games are recorded in
+     * the journal with the path given as the optional second argument, an existing journal is replayed and compacted
+     * first so its active games can be resumed. The {@link EngineMetrics} are registered at
+     * the platform MBean server, so they can be observed by any JMX client.
+     *
+     * @param args the address starting with {@link #UNIX_PREFIX} or {@link #TCP_PREFIX} and the optional journal
+     */
+    public static void main(final String[] args) {
+        if (args.length != 1 && args.length != 2) {
+            Terminal.printError("expected " + UNIX_PREFIX + "<path> or " + TCP_PREFIX + "<port> and [<journal>]");
+            return;
+        }
+        try {
+            MoveJournal journal = null;
+            Map<Long, ArithmeticScrabble> restored = Collections.emptyMap();
+            if (args.length == 2) {
+                final Path journalPath = Paths.get(args[1]);
+                if (Files.exists(journalPath)) {
+                    restored = MoveJournal.compact(journalPath, JournalReplay.replay(journalPath));
+                }
+                journal = new MoveJournal(journalPath);
+            }
+            final GameDaemon daemon = new GameDaemon(args[0], journal, restored);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    daemon.close();
+                } catch (final IOException exception) {
+                    Terminal.printError(exception.getMessage());
+                }
+            }));
+            EngineMetrics.getShared().register();
+            daemon.serve();
+        } catch (final IOException | IllegalArgumentException exception) {
+            Terminal.printError(String.valueOf(exception.getMessage()));
+        }
+    }
+
+    /**
+     * A suspended game and the time it was suspended at.
+     */
+    private static final class SuspendedGame {
+        private final ArithmeticScrabble game;
+        private final long suspendedAt;
+
+        private SuspendedGame(final ArithmeticScrabble game, final long suspendedAt) {
+            this.game = game;
+            this.suspendedAt = suspendedAt;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+
+import java.util.Random;
+
+/**
+ * Chooses the legal move with the highest score delta, one of several equal moves uniformly at random.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class GreedyStrategy implements MoveStrategy {
+    @Override public ScoredMove choose(final Position position, final MoveGenerator generator, final Random random) {
+        final ScoredMove[] chosen = new ScoredMove[1];
+        final int[] count = new int[1];
+        final int seat = position.getActiveSeat();
+        generator.generate(position.getPlayer(seat), position.getTokenCounts(seat), move -> {
+            if (chosen[0] == null || move.getScoreDelta() > chosen[0].getScoreDelta()) {
+                chosen[0] = move;
+                count[0] = 1;
+            } else if (move.getScoreDelta() == chosen[0].getScoreDelta() && random.nextInt(++count[0]) == 0) {
+                chosen[0] = move;
+            }
+        });
+        return chosen[0];
+    }
+
+    @Override public String toString() {
+        return "greedy";
+    }
+}
@@ -0,0 +1,29 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+
+import java.util.Random;
+
+/**
+ * Chooses the moves of a player in a {@link Simulation}. A strategy is used by all threads of a simulation at once,
+ * so it must not keep any state of a single game.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public interface MoveStrategy {
+    /**
+     * Chooses the move of the player to move in the given position.
+     *
+     * @param position the position, which must be unchanged afterwards
+     * @param generator the generator for the board of the position
+     * @param random the random number generator of the current game
+     *
+     * @return the chosen legal move, null if the player to move has no legal move
+     */
+    ScoredMove choose(Position position, MoveGenerator generator, Random random);
+}
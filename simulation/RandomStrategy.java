@@ -0,0 +1,35 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+
+import java.util.Random;
+
+/**
+ * Chooses one of the legal moves uniformly at random. The moves are sampled while they are generated, so they are
+ * never collected.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class RandomStrategy implements MoveStrategy {
+    @Override public ScoredMove choose(final Position position, final MoveGenerator generator, final Random random) {
+        final ScoredMove[] chosen = new ScoredMove[1];
+        final int[] count = new int[1];
+        final int seat = position.getActiveSeat();
+        generator.generate(position.getPlayer(seat), position.getTokenCounts(seat), move -> {
+            // the n-th move replaces the chosen one with probability 1/n
+            if (random.nextInt(++count[0]) == 0) {
+                chosen[0] = move;
+            }
+        });
+        return chosen[0];
+    }
+
+    @Override public String toString() {
+        return "random";
+    }
+}
@@ -0,0 +1,44 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.RatedMove;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+import edu.kit.informatik.scrabble.search.SearchEngine;
+
+import java.util.Random;
+
+/**
+ * Chooses the best move found by a {@link SearchEngine} within a fixed time budget.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class SearchStrategy implements MoveStrategy {
+    private final SearchEngine engine;
+    private final long timeBudget;
+
+    /**
+     * Instantiates a new {@link SearchStrategy} with the given parameters.
+     *
+     * @param engine the engine searching the moves, which is shared by all games
+     * @param timeBudget the time in milliseconds for every move
+     */
+    public SearchStrategy(final SearchEngine engine, final long timeBudget) {
+        this.engine = engine;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override public ScoredMove choose(final Position position, final MoveGenerator generator, final Random random) {
+        final RatedMove best = engine.search(position, timeBudget, 1).getBestMove();
+        return best == null
+                ? null
+                : best.getMove();
+    }
+
+    @Override public String toString() {
+        return "search " + timeBudget + "ms";
+    }
+}
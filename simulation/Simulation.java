@@ -0,0 +1,128 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.entity.GameSession;
+import edu.kit.informatik.scrabble.entity.Player;
+import edu.kit.informatik.scrabble.entity.TokenType;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabbleBoard;
+import edu.kit.informatik.scrabble.search.MoveGenerator;
+import edu.kit.informatik.scrabble.search.Position;
+import edu.kit.informatik.scrabble.search.ScoredMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays games between {@link MoveStrategy} instances without any user interface. Every game starts with random bags
+ * on an empty board and ends as soon as the player to move has no legal move left. The bags and all random decisions
+ * of a game only depend on the seed of the simulation and the number of the game, so every game can be replayed
+ * regardless of the number of threads. The games are played on {@link Position} instances, which track the bags as
+ * token counts, so no tokens are taken from the players. Every game has its own {@link GameSession}.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class Simulation {
+    private static final TokenType[] TOKEN_TYPES = TokenType.values();
+    private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+    private final MoveStrategy[] strategies;
+    private final int boardSize;
+    private final int bagSize;
+    private final long seed;
+
+    /**
+     * Instantiates a new {@link Simulation} with the given parameters.
+     *
+     * @param strategies the strategies of the players in the order of their turns
+     * @param boardSize the number of rows and columns of the board
+     * @param bagSize the number of tokens in the bag of every player
+     * @param seed the seed of the random bags and decisions
+     */
+    public Simulation(final MoveStrategy[] strategies, final int boardSize, final int bagSize, final long seed) {
+        this.strategies = strategies.clone();
+        this.boardSize = boardSize;
+        this.bagSize = bagSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the given number of games on the given number of threads.
+     *
+     * @param games the number of games
+     * @param parallelism the number of threads
+     *
+     * @return the statistics of all games
+     *
+     * @throws InterruptedException occurs if the current thread is interrupted while waiting for the games
+     */
+    public SimulationStatistics run(final long games, final int parallelism) throws InterruptedException {
+        final long start = System.nanoTime();
+        final AtomicLong nextGame = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        final List<Future<SimulationStatistics>> workers = new ArrayList<>();
+        try {
+            for (int worker = 0; worker < parallelism; worker++) {
+                workers.add(executor.submit(() -> {
+                    final SimulationStatistics statistics = new SimulationStatistics(strategies.length);
+                    for (long game = nextGame.getAndIncrement(); game < games; game = nextGame.getAndIncrement()) {
+                        play(game, statistics);
+                    }
+                    return statistics;
+                }));
+            }
+            final SimulationStatistics statistics = new SimulationStatistics(strategies.length);
+            for (final Future<SimulationStatistics> worker : workers) {
+                statistics.merge(worker.get());
+            }
+            statistics.setElapsedNanos(System.nanoTime() - start);
+            return statistics;
+        } catch (final ExecutionException exception) {
+            throw new IllegalStateException("simulated game failed", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays the game with the given number and records its result.
+     *
+     * @param game the number of the game
+     * @param statistics the statistics to record the result in
+     */
+    public void play(final long game, final SimulationStatistics statistics) {
+        // every game has its own players, so games on different threads do not share any state
+        final GameSession session = new GameSession();
+        final Player[] players = new Player[strategies.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            players[seat] = session.createPlayer(seat + 1);
+        }
+        final Random random = new Random(seed + game * SEED_INCREMENT);
+        final int[][] tokenCounts = new int[players.length][TOKEN_TYPES.length];
+        for (final int[] bag : tokenCounts) {
+            for (int token = 0; token < bagSize; token++) {
+                bag[random.nextInt(TOKEN_TYPES.length)]++;
+            }
+        }
+        final Position position = new Position(new ArithmeticScrabbleBoard(boardSize), players, tokenCounts, 0);
+        final MoveGenerator generator = new MoveGenerator(position.getBoard());
+        int moves = 0;
+        ScoredMove move = strategies[0].choose(position, generator, random);
+        while (move != null) {
+            position.apply(move);
+            moves++;
+            move = strategies[position.getActiveSeat()].choose(position, generator, random);
+        }
+        final int[] scores = new int[players.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            scores[seat] = position.getBoard().getScore(players[seat]);
+        }
+        statistics.record(scores, moves);
+    }
+}
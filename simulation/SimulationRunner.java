@@ -0,0 +1,86 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.Terminal;
+import edu.kit.informatik.scrabble.game.ArithmeticScrabbleBoard;
+import edu.kit.informatik.scrabble.search.SearchEngine;
+
+/**
+ * Entry point of the self-play simulation. Expects the number of games, the bag size, the seed and one strategy for
+ * every player, which is either {@value #RANDOM}, {@value #GREEDY} or {@value #SEARCH} followed by the time budget
+ * of every move in milliseconds, e.g. {@code search:20}. The games are played on all available processors.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public final class SimulationRunner {
+    /**
+     * The name of the {@link RandomStrategy}.
+     */
+    public static final String RANDOM = "random";
+    /**
+     * The name of the {@link GreedyStrategy}.
+     */
+    public static final String GREEDY = "greedy";
+    /**
+     * The prefix of the name of the {@link SearchStrategy}.
+     */
+    public static final String SEARCH = "search:";
+    private static final int FIRST_STRATEGY_INDEX = 3;
+
+    /**
+     * Private constructor to avoid object generation.
+     *
+     * @deprecated Utility-class constructor.
+     */
+    @Deprecated private SimulationRunner() {
+        throw new AssertionError("Utility class constructor.");
+    }
+
+    /**
+     * Runs the simulation described by the given arguments and prints its statistics.
+     *
+     * @param args the number of games, the bag size, the seed and the strategies of the players
+     */
+    public static void main(final String[] args) {
+        if (args.length < FIRST_STRATEGY_INDEX + 2) {
+            Terminal.printError("expected <games> <bag size> <seed> <strategy> <strategy>...");
+            return;
+        }
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        // all searches share the threads of one engine, so they cannot use more threads than there are processors
+        final SearchEngine engine = new SearchEngine();
+        try {
+            final long games = Long.parseLong(args[0]);
+            final int bagSize = Integer.parseInt(args[1]);
+            final long seed = Long.parseLong(args[2]);
+            final MoveStrategy[] strategies = new MoveStrategy[args.length - FIRST_STRATEGY_INDEX];
+            for (int seat = 0; seat < strategies.length; seat++) {
+                strategies[seat] = parseStrategy(args[FIRST_STRATEGY_INDEX + seat], engine);
+            }
+            final Simulation simulation = new Simulation(strategies, ArithmeticScrabbleBoard.BOARD_SIZE, bagSize,
+                                                         seed);
+            Terminal.printLine(simulation.run(games, parallelism));
+        } catch (final IllegalArgumentException exception) {
+            Terminal.printError(exception.getMessage());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static MoveStrategy parseStrategy(final String name, final SearchEngine engine) {
+        if (name.equals(RANDOM)) {
+            return new RandomStrategy();
+        }
+        if (name.equals(GREEDY)) {
+            return new GreedyStrategy();
+        }
+        if (name.startsWith(SEARCH)) {
+            return new SearchStrategy(engine, Long.parseLong(name.substring(SEARCH.length())));
+        }
+        throw new IllegalArgumentException("unknown strategy " + name);
+    }
+}
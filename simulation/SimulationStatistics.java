@@ -0,0 +1,207 @@
+
+
+package edu.kit.informatik.scrabble.simulation;
+
+import edu.kit.informatik.scrabble.ui.Main;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accumulates the results of the games of a {@link Simulation}. Every thread of a simulation accumulates its own
+ * statistics, which are merged once all games are played, so an instance must not be shared between threads.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+public class SimulationStatistics {
+    private final long[] wins;
+    private final long[] scoreSums;
+    private final double[] scoreSquareSums;
+    private final int[] minimumScores;
+    private final int[] maximumScores;
+    private long games = 0;
+    private long moves = 0;
+    private long draws = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * Instantiates a new empty {@link SimulationStatistics} for the given number of players.
+     *
+     * @param playerCount the number of players of every game
+     */
+    public SimulationStatistics(final int playerCount) {
+        wins = new long[playerCount];
+        scoreSums = new long[playerCount];
+        scoreSquareSums = new double[playerCount];
+        minimumScores = new int[playerCount];
+        maximumScores = new int[playerCount];
+        Arrays.fill(minimumScores, Integer.MAX_VALUE);
+        Arrays.fill(maximumScores, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Records a finished game. The game is won by the player with the highest score, it is a draw if several players
+     * share the highest score.
+     *
+     * @param scores the final scores indexed by seat
+     * @param moveCount the number of moves of the game
+     */
+    public void record(final int[] scores, final int moveCount) {
+        games++;
+        moves += moveCount;
+        int winner = 0;
+        boolean draw = false;
+        for (int seat = 0; seat < scores.length; seat++) {
+            scoreSums[seat] += scores[seat];
+            scoreSquareSums[seat] += (double) scores[seat] * scores[seat];
+            minimumScores[seat] = Math.min(minimumScores[seat], scores[seat]);
+            maximumScores[seat] = Math.max(maximumScores[seat], scores[seat]);
+            if (seat > 0 && scores[seat] == scores[winner]) {
+                draw = true;
+            } else if (scores[seat] > scores[winner]) {
+                winner = seat;
+                draw = false;
+            }
+        }
+        if (draw) {
+            draws++;
+        } else {
+            wins[winner]++;
+        }
+    }
+
+    /**
+     * Adds all games recorded by the given statistics to these statistics.
+     *
+     * @param statistics the statistics of the same number of players to merge
+     */
+    public void merge(final SimulationStatistics statistics) {
+        games += statistics.games;
+        moves += statistics.moves;
+        draws += statistics.draws;
+        for (int seat = 0; seat < wins.length; seat++) {
+            wins[seat] += statistics.wins[seat];
+            scoreSums[seat] += statistics.scoreSums[seat];
+            scoreSquareSums[seat] += statistics.scoreSquareSums[seat];
+            minimumScores[seat] = Math.min(minimumScores[seat], statistics.minimumScores[seat]);
+            maximumScores[seat] = Math.max(maximumScores[seat], statistics.maximumScores[seat]);
+        }
+    }
+
+    /**
+     * Sets the wall clock time needed to play the recorded games.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * The number of recorded games.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * The number of moves of all recorded games.
+     *
+     * @return the number of moves
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * The number of games won by the player at the given seat.
+     *
+     * @param seat the seat of the player
+     *
+     * @return the number of won games
+     */
+    public long getWins(final int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * The share of drawn games.
+     *
+     * @return the number of draws divided by the number of games
+     */
+    public double getDrawRate() {
+        return games == 0
+                ? 0
+                : (double) draws / games;
+    }
+
+    /**
+     * The mean final score of the player at the given seat.
+     *
+     * @param seat the seat of the player
+     *
+     * @return the mean score
+     */
+    public double getMeanScore(final int seat) {
+        return games == 0
+                ? 0
+                : (double) scoreSums[seat] / games;
+    }
+
+    /**
+     * The standard deviation of the final scores of the player at the given seat.
+     *
+     * @param seat the seat of the player
+     *
+     * @return the standard deviation of the scores
+     */
+    public double getScoreDeviation(final int seat) {
+        if (games == 0) {
+            return 0;
+        }
+        final double mean = getMeanScore(seat);
+        return Math.sqrt(Math.max(0, scoreSquareSums[seat] / games - mean * mean));
+    }
+
+    /**
+     * The number of games played per second of wall clock time.
+     *
+     * @return the game throughput
+     */
+    public double getGamesPerSecond() {
+        return perSecond(games);
+    }
+
+    /**
+     * The number of moves played per second of wall clock time.
+     *
+     * @return the move throughput
+     */
+    public double getMovesPerSecond() {
+        return perSecond(moves);
+    }
+
+    private double perSecond(final long count) {
+        return elapsedNanos == 0
+                ? 0
+                : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override public String toString() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("games %d, moves %d, %.3f s%s", games, moves,
+                                    elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), Main.LINE_SEPARATOR));
+        report.append(String.format("%.1f games/s, %.1f moves/s, draw rate %.4f", getGamesPerSecond(),
+                                    getMovesPerSecond(), getDrawRate()));
+        for (int seat = 0; seat < wins.length; seat++) {
+            report.append(Main.LINE_SEPARATOR).append(String.format(
+                    "%s%d wins %d, score mean %.2f deviation %.2f minimum %d maximum %d", Main.PLAYER_CHARACTER,
+                    seat + 1, wins[seat], getMeanScore(seat), getScoreDeviation(seat),
+                    games == 0 ? 0 : minimumScores[seat], games == 0 ? 0 : maximumScores[seat]));
+        }
+        return report.toString();
+    }
+}
@@ -3,19 +3,23 @@
 
 package edu.kit.informatik.scrabble.ui;
 
-import edu.kit.informatik.scrabble.entity.Expression;
+import edu.kit.informatik.scrabble.entity.ExpressionEvaluator;
 import edu.kit.informatik.scrabble.entity.Orientation;
 import edu.kit.informatik.scrabble.entity.Player;
 import edu.kit.informatik.scrabble.entity.Token;
 import edu.kit.informatik.scrabble.entity.TokenType;
 import edu.kit.informatik.scrabble.game.ArithmeticScrabble;
 import edu.kit.informatik.scrabble.game.ArithmeticScrabbleGame;
+import edu.kit.informatik.scrabble.metrics.LatencyHistogram;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
- * List of available commands with their command line interaction expressions.
+ * List of available commands with their command line interaction expressions. A line of input is parsed in a single
+ * pass by a {@link CommandScanner}: the command is chosen by its keyword and reads its own arguments. The accepted
+ * lines are exactly the ones matched by the regular expressions of the assignment, which are kept in the comments of
+ * the commands.
  *
  * @author Sara
  * @version 1.0
@@ -23,20 +27,36 @@ import java.util.regex.Pattern;
 public enum Command {
 
     /**
-     * Places the given tokens at the given position with the given orientation if possible.
+     * Places the given tokens at the given position with the given orientation if possible. Matches
+     * {@code place <tokens>;<row>;<column>;<orientation>} as described by {@link TokenType#getTokensPattern()} and
+     * {@link Orientation#getOrientationPattern()}.
      */
-    PLACE("place" + Main.COMMAND_SEPARATOR + TokenType.getTokensPattern() + Main.SEPARATOR + "(\\d+)" + Main.SEPARATOR
-          + "(\\d+)" + Main.SEPARATOR + "(" + Orientation.getOrientationPattern() + ")") {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
-            final String tokensString = input.group(Main.FIRST_PARAMETER_INDEX);
-            final Token[] tokens = Token.parseTokensWithoutPlayer(tokensString);
-            if (tokens.length > Expression.MINIMUM_EXPRESSION_LENGTH || tokens.length < 1) {
-                return Main.ERROR + "invalid number of tokens " + tokens.length;
+    PLACE("place") {
+        @Override boolean readArguments(final CommandScanner scanner) {
+            if (!scanner.readSeparator(Main.COMMAND_SEPARATOR)) {
+                return false;
             }
-            final int row = Integer.parseInt(input.group(Main.FIRST_PARAMETER_INDEX + 1));
-            final int column = Integer.parseInt(input.group(Main.FIRST_PARAMETER_INDEX + 2));
-            final Orientation orientation = Orientation.parseFromString(input.group(Main.FIRST_PARAMETER_INDEX + 3));
-            return scrabble.place(row, column, orientation, tokens);
+            scanner.readTokens();
+            return scanner.readSeparator(Main.SEPARATOR) && scanner.readRow() && scanner.readSeparator(Main.SEPARATOR)
+                   && scanner.readColumn() && scanner.readSeparator(Main.SEPARATOR) && scanner.readOrientation();
+        }
+
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
+            final int tokenCount = scanner.getTokensEnd() - scanner.getTokensStart();
+            if (tokenCount > ExpressionEvaluator.MINIMUM_EXPRESSION_LENGTH || tokenCount < 1) {
+                return Main.ERROR + "invalid number of tokens " + tokenCount;
+            }
+            final Token[] tokens = Token.parseTokensWithoutPlayer(scanner.getInput(), scanner.getTokensStart(),
+                                                                  scanner.getTokensEnd());
+            if (tokens == null) {
+                return Main.ERROR + "invalid tokens "
+                       + scanner.getInput().subSequence(scanner.getTokensStart(), scanner.getTokensEnd());
+            }
+            final Orientation orientation = scanner.getOrientation();
+            if (orientation == null) {
+                return Main.ERROR + "invalid orientation!";
+            }
+            return scrabble.place(scanner.getRow(), scanner.getColumn(), orientation, tokens);
         }
     },
 
@@ -44,27 +64,41 @@ public enum Command {
      * Finishes the game and returns the results.
      */
     END("end") {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
             return scrabble.end().toString();
         }
     },
 
     /**
-     * Returns the score for the given player.
+     * Returns the score for the given player. Matches {@code score} followed by {@link Main#PLAYER_PATTERN}.
      */
-    SCORE("score" + Main.COMMAND_SEPARATOR + Main.PLAYER_PATTERN) {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
-            final Player player = Command.getPlayer(input);
+    SCORE("score") {
+        @Override boolean readArguments(final CommandScanner scanner) {
+            return scanner.readSeparator(Main.COMMAND_SEPARATOR) && scanner.readPlayer();
+        }
+
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
+            final Player player = scrabble.getPlayer(scanner.getPlayerIndex());
+            if (player == null) {
+                return PLAYER_NOT_FOUND;
+            }
             return String.valueOf(scrabble.score(player).getScore());
         }
     },
 
     /**
-     * Returns the bag of tokens for the given player.
+     * Returns the bag of tokens for the given player. Matches {@code bag} followed by {@link Main#PLAYER_PATTERN}.
      */
-    BAG("bag" + Main.COMMAND_SEPARATOR + Main.PLAYER_PATTERN) {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
-            final Player player = Command.getPlayer(input);
+    BAG("bag") {
+        @Override boolean readArguments(final CommandScanner scanner) {
+            return scanner.readSeparator(Main.COMMAND_SEPARATOR) && scanner.readPlayer();
+        }
+
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
+            final Player player = scrabble.getPlayer(scanner.getPlayerIndex());
+            if (player == null) {
+                return PLAYER_NOT_FOUND;
+            }
             final StringBuilder output = new StringBuilder();
             scrabble.bag(player).forEach(output::append);
             return output.toString();
@@ -75,16 +109,23 @@ public enum Command {
      * Returns the string representation of the game board.
      */
     PRINT("print") {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
             return scrabble.print();
         }
+
+        @Override int write(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble, final Writer output,
+                final String linePrefix) throws IOException {
+            final int lines = scrabble.print(output, linePrefix);
+            output.write(Main.LINE_SEPARATOR);
+            return lines;
+        }
     },
 
     /**
      * Quits the program.
      */
     QUIT("quit") {
-        @Override public String execute(final Matcher input, final ArithmeticScrabbleGame scrabble) {
+        @Override public String execute(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble) {
             scrabble.quit();
             return null;
         }
@@ -95,20 +136,28 @@ public enum Command {
      * could be found in this enum.
      */
     public static final String COMMAND_NOT_FOUND = Main.ERROR + "command not found!";
+    /**
+     * String constant containing an error message for the case that the game has no player with the given index.
+     */
+    public static final String PLAYER_NOT_FOUND = Main.ERROR + "player not found!";
+    private static final Command[] COMMANDS = values();
 
     /**
-     * The pattern of this command.
+     * The keyword of this command.
+     */
+    private final String keyword;
+    /**
+     * The durations of the executions of this command, including the rejected ones.
      */
-    private final Pattern pattern;
+    private final LatencyHistogram latency = new LatencyHistogram();
 
     /**
-     * Instantiates a new command with the given String. The given String must be a
-     * compilable {@link Pattern}.
+     * Instantiates a new command with the given keyword.
      *
-     * @param pattern the pattern of this command
+     * @param keyword the keyword of this command
      */
-    Command(final String pattern) {
-        this.pattern = Pattern.compile(pattern);
+    Command(final String keyword) {
+        this.keyword = keyword;
     }
 
     /**
@@ -123,27 +172,151 @@ public enum Command {
      *         null if there is no output
      */
     public static String executeCommand(final String input, final ArithmeticScrabbleGame scrabble) {
-        for (final Command command : Command.values()) {
-            final Matcher matcher = command.pattern.matcher(input);
-            if (matcher.matches()) {
-                return command.execute(matcher, scrabble);
+        return executeCommand((CharSequence) input, scrabble);
+    }
+
+    /**
+     * Executes the command contained in the given characters like {@link #executeCommand(String,
+     * ArithmeticScrabbleGame)}, which allows executing lines of a buffer without copying them.
+     *
+     * @param input the line of input
+     * @param scrabble the {@link ArithmeticScrabble} the command is executed on
+     *
+     * @return the result of the command execution, may contain error messages or be
+     *         null if there is no output
+     */
+    public static String executeCommand(final CharSequence input, final ArithmeticScrabbleGame scrabble) {
+        final CommandScanner scanner = new CommandScanner(input);
+        final Command command = parse(scanner);
+        if (command == null) {
+            return COMMAND_NOT_FOUND;
+        }
+        final long start = System.nanoTime();
+        try {
+            return command.execute(scanner, scrabble);
+        } finally {
+            command.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes the command contained in the given characters like {@link #executeCommand(CharSequence,
+     * ArithmeticScrabbleGame)} and writes its output to the given writer, every line preceded by the given prefix and
+     * followed by {@link Main#LINE_SEPARATOR}. The board printed by {@link #PRINT} is written without creating a
+     * String.
+     *
+     * @param input the line of input
+     * @param scrabble the {@link ArithmeticScrabble} the command is executed on
+     * @param output the writer the output is written to
+     * @param linePrefix the prefix of every line of output
+     *
+     * @return the number of lines written
+     *
+     * @throws IOException occurs if the writer fails
+     */
+    public static int executeCommand(final CharSequence input, final ArithmeticScrabbleGame scrabble,
+            final Writer output, final String linePrefix) throws IOException {
+        final CommandScanner scanner = new CommandScanner(input);
+        final Command command = parse(scanner);
+        if (command == null) {
+            return writeLines(output, linePrefix, COMMAND_NOT_FOUND);
+        }
+        final long start = System.nanoTime();
+        try {
+            return command.write(scanner, scrabble, output, linePrefix);
+        } finally {
+            command.latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reads the command contained in the input of the given scanner together with its arguments. The first word is
+     * read once and only the command with this keyword reads its arguments.
+     *
+     * @param scanner the scanner at the start of the input
+     *
+     * @return the command, null if the input does not contain a valid command
+     */
+    private static Command parse(final CommandScanner scanner) {
+        scanner.readWord(Main.COMMAND_SEPARATOR.charAt(0));
+        for (final Command command : COMMANDS) {
+            if (scanner.isWord(command.keyword)) {
+                return command.readArguments(scanner) && scanner.isAtEnd()
+                        ? command
+                        : null;
             }
         }
-        return COMMAND_NOT_FOUND;
+        return null;
     }
 
-    private static Player getPlayer(final Matcher input) {
-        return Player.getPlayer(Integer.parseInt(String.valueOf(input.group(Main.FIRST_PARAMETER_INDEX).charAt(1))));
+    private static int writeLines(final Writer output, final String linePrefix, final String text)
+            throws IOException {
+        if (text == null) {
+            return 0;
+        }
+        int lines = 0;
+        int start = 0;
+        for (int end = text.indexOf(Main.LINE_SEPARATOR); end >= 0; end = text.indexOf(Main.LINE_SEPARATOR, start)) {
+            output.write(linePrefix);
+            output.write(text, start, end - start);
+            output.write(Main.LINE_SEPARATOR);
+            lines++;
+            start = end + Main.LINE_SEPARATOR.length();
+        }
+        output.write(linePrefix);
+        output.write(text, start, text.length() - start);
+        output.write(Main.LINE_SEPARATOR);
+        return lines + 1;
     }
 
     /**
-     * Executes the given input on the given scrabble.
+     * The durations of the executions of this command in nanoseconds, measured by {@link #executeCommand(CharSequence,
+     * ArithmeticScrabbleGame)} from the end of parsing till the end of the execution.
      *
-     * @param input the line of input
+     * @return the latency histogram of this command
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Reads the arguments of this command including the separator after the keyword. Commands without arguments do
+     * not read anything.
+     *
+     * @param scanner the scanner positioned after the keyword
+     *
+     * @return whether or not the arguments are valid
+     */
+    boolean readArguments(final CommandScanner scanner) {
+        return true;
+    }
+
+    /**
+     * Executes this command like {@link #execute(CommandScanner, ArithmeticScrabbleGame)} and writes its output to
+     * the given writer, every line preceded by the given prefix and followed by {@link Main#LINE_SEPARATOR}.
+     *
+     * @param scanner the scanner containing the arguments of this command
+     * @param scrabble the scrabble the command is executed on
+     * @param output the writer the output is written to
+     * @param linePrefix the prefix of every line of output
+     *
+     * @return the number of lines written
+     *
+     * @throws IOException occurs if the writer fails
+     */
+    int write(final CommandScanner scanner, final ArithmeticScrabbleGame scrabble, final Writer output,
+            final String linePrefix) throws IOException {
+        return writeLines(output, linePrefix, execute(scanner, scrabble));
+    }
+
+    /**
+     * Executes this command with the arguments read by the given scanner on the given scrabble.
+     *
+     * @param scanner the scanner containing the arguments of this command
      * @param scrabble the scrabble the command is executed on
      *
      * @return the result of the command execution, may contain error messages or be
      *         null if there is no output
      */
-    abstract String execute(Matcher input, ArithmeticScrabbleGame scrabble);
+    abstract String execute(CommandScanner scanner, ArithmeticScrabbleGame scrabble);
 }
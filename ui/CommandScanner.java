@@ -0,0 +1,276 @@
+
+
+package edu.kit.informatik.scrabble.ui;
+
+import edu.kit.informatik.scrabble.entity.Orientation;
+import edu.kit.informatik.scrabble.entity.TokenType;
+
+/**
+ * Reads the arguments of a single line of input in one pass for {@link Command}. Every method checks the next
+ * characters against one part of the syntax of a command and advances past them on success, the parsed values are
+ * kept until the command is executed. No Strings are created while scanning.
+ *
+ * @author Sara
+ * @version 1.0
+ */
+final class CommandScanner {
+    private static final int RADIX = 10;
+    private final CharSequence input;
+    private int position;
+    private int wordStart;
+    private int wordEnd;
+    private int tokensStart;
+    private int tokensEnd;
+    private int rowStart;
+    private int rowEnd;
+    private int columnStart;
+    private int columnEnd;
+    private char orientation;
+    private int playerStart;
+    private int playerEnd;
+
+    /**
+     * Instantiates a new {@link CommandScanner} for the given input positioned at its start.
+     *
+     * @param input the line of input
+     */
+    CommandScanner(final CharSequence input) {
+        this.input = input;
+    }
+
+    /**
+     * Reads the characters up to the given delimiter or the end of the input as a word, which can be compared by
+     * {@link #isWord(String)}.
+     *
+     * @param delimiter the character ending the word, which is not read
+     */
+    void readWord(final char delimiter) {
+        wordStart = position;
+        while (position < input.length() && input.charAt(position) != delimiter) {
+            position++;
+        }
+        wordEnd = position;
+    }
+
+    /**
+     * Returns whether or not the word read by {@link #readWord(char)} equals the given keyword.
+     *
+     * @param keyword the keyword
+     *
+     * @return whether or not the word is the keyword
+     */
+    boolean isWord(final String keyword) {
+        if (wordEnd - wordStart != keyword.length()) {
+            return false;
+        }
+        for (int index = 0; index < keyword.length(); index++) {
+            if (input.charAt(wordStart + index) != keyword.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the given keyword.
+     *
+     * @param keyword the keyword
+     *
+     * @return whether or not the input continues with the keyword
+     */
+    boolean readKeyword(final String keyword) {
+        if (input.length() - position < keyword.length()) {
+            return false;
+        }
+        for (int index = 0; index < keyword.length(); index++) {
+            if (input.charAt(position + index) != keyword.charAt(index)) {
+                return false;
+            }
+        }
+        position += keyword.length();
+        return true;
+    }
+
+    /**
+     * Reads the given separator.
+     *
+     * @param separator the separator
+     *
+     * @return whether or not the input continues with the separator
+     */
+    boolean readSeparator(final String separator) {
+        return readKeyword(separator);
+    }
+
+    /**
+     * Reads any number of tokens, the range is available by {@link #getTokensStart()} and {@link #getTokensEnd()}.
+     */
+    void readTokens() {
+        tokensStart = position;
+        while (position < input.length() && TokenType.isTokenCharacter(input.charAt(position))) {
+            position++;
+        }
+        tokensEnd = position;
+    }
+
+    /**
+     * Reads a non-negative decimal number as the row.
+     *
+     * @return whether or not the input continues with a number
+     */
+    boolean readRow() {
+        rowStart = position;
+        rowEnd = skipDigits();
+        return rowEnd > rowStart;
+    }
+
+    /**
+     * Reads a non-negative decimal number as the column.
+     *
+     * @return whether or not the input continues with a number
+     */
+    boolean readColumn() {
+        columnStart = position;
+        columnEnd = skipDigits();
+        return columnEnd > columnStart;
+    }
+
+    private int skipDigits() {
+        while (position < input.length() && isDigit(input.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Converts the given digits. Numbers exceeding the integer range are parsed by {@link Integer#parseInt(String)},
+     * which fails with its usual exception.
+     */
+    private int parseNumber(final int start, final int end) {
+        long value = 0;
+        for (int index = start; index < end && value <= Integer.MAX_VALUE; index++) {
+            value = value * RADIX + input.charAt(index) - '0';
+        }
+        if (value > Integer.MAX_VALUE) {
+            return Integer.parseInt(input.subSequence(start, end).toString());
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns whether or not the given character is matched by the digit class of regular expressions.
+     */
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Reads the character of an orientation.
+     *
+     * @return whether or not the input continues with an orientation
+     */
+    boolean readOrientation() {
+        if (position < input.length() && Orientation.isOrientationCharacter(input.charAt(position))) {
+            orientation = input.charAt(position++);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads a player consisting of the {@link Main#PLAYER_CHARACTER} and a decimal index.
+     *
+     * @return whether or not the input continues with a player
+     */
+    boolean readPlayer() {
+        if (!readKeyword(Main.PLAYER_CHARACTER)) {
+            return false;
+        }
+        playerStart = position;
+        playerEnd = skipDigits();
+        return playerEnd > playerStart;
+    }
+
+    /**
+     * Returns whether or not the whole input has been read.
+     *
+     * @return whether or not the end of the input is reached
+     */
+    boolean isAtEnd() {
+        return position == input.length();
+    }
+
+    /**
+     * The input of this scanner.
+     *
+     * @return the line of input
+     */
+    CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * The index of the first character of the tokens read by {@link #readTokens()}.
+     *
+     * @return the start of the tokens
+     */
+    int getTokensStart() {
+        return tokensStart;
+    }
+
+    /**
+     * The index after the last character of the tokens read by {@link #readTokens()}.
+     *
+     * @return the end of the tokens
+     */
+    int getTokensEnd() {
+        return tokensEnd;
+    }
+
+    /**
+     * The row read by {@link #readRow()}, which is converted only now so that a command can reject its other
+     * arguments first.
+     *
+     * @return the row
+     *
+     * @throws NumberFormatException occurs if the row exceeds the integer range
+     */
+    int getRow() throws NumberFormatException {
+        return parseNumber(rowStart, rowEnd);
+    }
+
+    /**
+     * The column read by {@link #readColumn()}, which is converted only now so that a command can reject its other
+     * arguments first.
+     *
+     * @return the column
+     *
+     * @throws NumberFormatException occurs if the column exceeds the integer range
+     */
+    int getColumn() throws NumberFormatException {
+        return parseNumber(columnStart, columnEnd);
+    }
+
+    /**
+     * The orientation read by {@link #readOrientation()}.
+     *
+     * @return the orientation, null for the separator matched by the pattern of the orientations
+     */
+    Orientation getOrientation() {
+        return Orientation.parseFromCharacter(orientation);
+    }
+
+    /**
+     * The index of the player read by {@link #readPlayer()}. Indices beyond the integer range are reduced to
+     * {@link Integer#MAX_VALUE}, which does not belong to any player either.
+     *
+     * @return the index of the player
+     */
+    int getPlayerIndex() {
+        long index = 0;
+        for (int digit = playerStart; digit < playerEnd; digit++) {
+            index = Math.min(index * RADIX + input.charAt(digit) - '0', Integer.MAX_VALUE);
+        }
+        return (int) index;
+    }
+}
@@ -52,7 +52,15 @@ public class Main {
     /**
      * String describing the pattern of a valid player index.
      */
-    public static final String PLAYER_PATTERN = "(" + PLAYER_CHARACTER + "[" + 1 + "|" + 2 + "]" + ")";
+    public static final String PLAYER_PATTERN = "(" + PLAYER_CHARACTER + "\\d+)";
+    /**
+     * The minimum number of players of a game.
+     */
+    public static final int MINIMUM_PLAYERS = 2;
+    /**
+     * The maximum number of players of a game.
+     */
+    public static final int MAXIMUM_PLAYERS = 16;
     /**
      * The string added to the player representation for the output of the
      * {@link ArithmeticScrabbleGame#end()} command.
@@ -77,19 +85,30 @@ public class Main {
         throw new AssertionError("Utility class constructor.");
     }
 
+    /**
+     * Checks whether or not a game can be played by the given number of players.
+     *
+     * @param playerCount the number of players
+     *
+     * @throws GameException occurs if the number is not between {@link #MINIMUM_PLAYERS} and
+     *         {@link #MAXIMUM_PLAYERS}
+     */
+    public static void checkPlayerCount(final int playerCount) throws GameException {
+        if (playerCount < MINIMUM_PLAYERS || playerCount > MAXIMUM_PLAYERS) {
+            throw new GameException("number of players not supported!");
+        }
+    }
+
     /**
      * Entry point to the program. Checks the given input and produces corresponding
      * output.
      *
-     * @param args the two player token lists, format specified in {@link TokenType#getTokensPattern()}
+     * @param args the token lists of the players, format specified in {@link TokenType#getTokensPattern()}
      */
     public static void main(final String[] args) {
-        if (args.length != 2) {
-            Terminal.printError("number of players not supported!");
-            return;
-        }
         final ArithmeticScrabble scrabble;
         try {
+            checkPlayerCount(args.length);
             scrabble = new ArithmeticScrabble(args);
         } catch (final GameException exception) {
             Terminal.printError(exception.getMessage());